@@ -18,7 +18,6 @@ import android.view.MenuItem;
 import android.widget.ImageView;
 
 import com.nano.movies.R;
-import com.nano.movies.web.Movie;
 import com.squareup.picasso.Picasso;
 
 import com.nano.movies.web.Tmdb;
@@ -30,7 +29,6 @@ public class DetailActivity extends AppCompatActivity
 
     private final String TAG = getClass().getSimpleName();
     public static final String MOVIE_ID_EXTRA = "MOVIE ID EXTRA";
-    public static final String MOVIE_EXTRA = "MOVIE EXTRA";
     private boolean mIsTwoPane=false;
 
     //Small screens won't have a backdrop
@@ -92,21 +90,17 @@ public class DetailActivity extends AppCompatActivity
     }
 
     /**
-     * If there is no internet connection and user is
-     * displaying a Favorite, then movie was
-     * loaded from the cache and can't be downloaded.
+     * Favorites come from the database even when there
+     * is no internet connection, so every movie goes
+     * through downloadMovie.
      */
     private void setupDetailFragment() {
         DetailActivityFragment detailFragment = ((DetailActivityFragment) getSupportFragmentManager()
                 .findFragmentById(R.id.fragment_activity_detail));
 
         int movieId = getIntent().getIntExtra(MOVIE_ID_EXTRA, -1);
-        if (movieId == -1)  {
-            Movie movie = getIntent().getParcelableExtra(MOVIE_EXTRA);
-            detailFragment.displayMovieDetails(movie);
-        }
-        else
-          detailFragment.downloadMovie(movieId);
+        if (movieId != -1)
+            detailFragment.downloadMovie(movieId);
     }
 
     @Override
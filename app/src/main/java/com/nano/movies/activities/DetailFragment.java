@@ -22,11 +22,10 @@ import android.widget.TextView;
 
 import com.nano.movies.R;
 import com.nano.movies.adapters.TrailerAdapter;
-import com.nano.movies.utils.DatabaseUtils;
+import com.nano.movies.data.MovieRepository;
 import com.nano.movies.utils.Utils;
-import com.nano.movies.web.Releases;
 import com.nano.movies.web.Movie;
-import com.nano.movies.web.MovieService;
+import com.nano.movies.web.ReleaseDates;
 import com.nano.movies.web.Reviews;
 import com.nano.movies.web.Reviews.Review;
 import com.nano.movies.web.Tmdb;
@@ -34,16 +33,12 @@ import com.nano.movies.web.Trailers;
 import com.squareup.phrase.Phrase;
 import com.squareup.picasso.Picasso;
 
-import java.text.SimpleDateFormat;
 import java.util.List;
-import java.util.Locale;
 
 import butterknife.BindView;
 import butterknife.BindString;
 import butterknife.OnClick;
-import retrofit.Callback;
 import retrofit.RetrofitError;
-import retrofit.client.Response;
 
 /**
  * This fragment attaches ONLY to MainActivity two-pane mode
@@ -96,10 +91,12 @@ public class DetailFragment extends Fragment {
     protected RecyclerView mRecyclerView;
     protected TrailerAdapter mTrailerAdapter;
     protected int mMovieId;
+    private boolean mIsFavorite;
     protected Movie mMovie;
 
-    // Tag for saving movie so it doesn't have to be re-downloaded on config change
-    public String BUNDLE_MOVIE = "SaveMovie";
+    // Tag for saving the movie's id on config change.  The movie itself
+    // is read back from the MovieRepository, which usually has it in memory.
+    public String BUNDLE_MOVIE_ID = "SaveMovieId";
     private ShareActionProvider mShareActionProvider;
     private Intent mShareIntent;
 
@@ -130,26 +127,34 @@ public class DetailFragment extends Fragment {
     public void onActivityCreated(Bundle savedInstanceState) {
         super.onActivityCreated(savedInstanceState);
 
-        if (savedInstanceState != null) {
-            mMovie = savedInstanceState.getParcelable(BUNDLE_MOVIE);
-            if (mMovie != null) {
-                mMovieId = mMovie.getId();
-                setShareTrailerIntent();
-            }
+        //Unless the Activity already asked for a movie
+        if (savedInstanceState != null && mMovie == null && mMovieId == 0) {
+            int movieId = savedInstanceState.getInt(BUNDLE_MOVIE_ID, 0);
+            if (movieId != 0)
+                downloadMovie(movieId);
         }
     }
 
     @Override
     public void onSaveInstanceState(Bundle outState) {
         super.onSaveInstanceState(outState);
-        outState.putParcelable(BUNDLE_MOVIE, mMovie);
+        outState.putInt(BUNDLE_MOVIE_ID, mMovieId);
     }
 
     private void setupFavoritesButton() {
-        if (DatabaseUtils.isFavoriteMovie(getActivity(), mMovie.getId()))
-            btnMarkFavorite.setText("- Favorites");
-        else
-            btnMarkFavorite.setText("+ Favorites");
+        //Until we know which way it should toggle
+        btnMarkFavorite.setEnabled(false);
+        getTmdbApp().getMovieRepository().loadIsFavorite(mMovie.getId(),
+                new MovieRepository.FavoriteListener() {
+                    @Override
+                    public void onIsFavoriteLoaded(int tmdbId, boolean isFavorite) {
+                        if (!isAdded() || mMovie == null || tmdbId != mMovie.getId())
+                            return;
+                        mIsFavorite = isFavorite;
+                        btnMarkFavorite.setEnabled(true);
+                        btnMarkFavorite.setText(isFavorite ? "- Favorites" : "+ Favorites");
+                    }
+                });
     }
 
     /**
@@ -160,15 +165,12 @@ public class DetailFragment extends Fragment {
     @SuppressWarnings("unused")
     @OnClick(R.id.btn_mark_fav)
     public void favoritesButtonClick(Button favButton) {
-        if (DatabaseUtils.isFavoriteMovie(getActivity(), mMovie.getId())) {
-            //Log.i(TAG, "Removing movie from favorites " + mMovie.getOriginalTitle());
-            DatabaseUtils.deleteMovie(getActivity(), mMovie.getId());
-            favButton.setText("+ Favorites");
-        } else {
-            //Log.i(TAG, "Adding movie to favorites " + mMovie.getOriginalTitle());
-            DatabaseUtils.insertMovie(getActivity(), mMovie);
-            favButton.setText("- Favorites");
-        }
+        //The button shows what setupFavoritesButton found,
+        //so there's no need to ask the database again
+        mIsFavorite = !mIsFavorite;
+        //Log.i(TAG, (mIsFavorite ? "Adding movie to" : "Removing movie from") + " favorites " + mMovie.getOriginalTitle());
+        getTmdbApp().getMovieRepository().setFavorite(mMovie, mIsFavorite);
+        favButton.setText(mIsFavorite ? "- Favorites" : "+ Favorites");
     }
 
     @Override
@@ -189,7 +191,7 @@ public class DetailFragment extends Fragment {
     }
 
     private void setShareTrailerIntent() {
-        if (mMovie.getTrailers().getYoutube().size() == 0)
+        if (mMovie.getTrailers() == null || mMovie.getTrailers().getYoutube().size() == 0)
             return;
         if (mShareActionProvider == null) {
             Log.d(TAG, "Null ShareActionProvider");
@@ -216,7 +218,6 @@ public class DetailFragment extends Fragment {
     //(DetailActivity), in single-pane mode.
     public void downloadMovie(int movieId) {
         Tmdb tmdbManager = getTmdbApp();
-        final MovieService movieService = tmdbManager.getMovieService();
         // If user is displaying the same movie,
         // then don't download it again.
         if (mMovie != null) {
@@ -229,50 +230,29 @@ public class DetailFragment extends Fragment {
         //callback for error handling
         mMovieId = movieId;
         tmdbManager.setIsDebug(false);
-        movieService.summary(movieId,
-                MovieService.REVIEWS_AND_TRAILERS,
-                new Callback<Movie>() {
+        // The repository hands over whatever it has locally (a recent
+        // download or a favorite) right away, then the refreshed movie
+        // if the local copy was out of date.
+        tmdbManager.getMovieRepository().loadMovie(movieId,
+                new MovieRepository.MovieListener() {
                     @Override
-                    public void success(Movie movie, Response response) {
+                    public void onMovieLoaded(Movie movie) {
+                        //The user may have moved on to another movie by now
+                        if (!isAdded() || movie.getId() != mMovieId)
+                            return;
                         mMovie = movie;
                         setShareTrailerIntent();
                         //Log.i(TAG, "Success!! Movie title = " + movie.getOriginalTitle());
-                        //Log.i(TAG, "There are "
-                        //        + movie.getTrailerCount() + " trailers and "
-                        //        + movie.getReviewCount() + " reviews");
-                        downloadReleases(movieService);
-                    }
-
-                    @Override
-                    public void failure(RetrofitError error) {
-                        // Handle errors here.
-                        Utils.showToast(getActivity(), "Failed to download movie " + mMovieId);
-                    }
-                });
-    }
-
-    /**
-     * MAKES A GREAT CASE FOR RxJava/Android, NEXT ON MY LEARNING CURVE LIST
-     * <p/>
-     * Movie releases require a separate API call.
-     * This call is nested in the downloadMovie call.
-     * It is called after the main movie details completes.
-     */
-    private void downloadReleases(MovieService movieService) {
-        movieService.releases(mMovieId,
-                new Callback<Releases>() {
-                    @Override
-                    public void success(Releases releases, Response response) {
-                        //Log.i(TAG, "There are " + releases.getCount() + " releases");
-                        mMovie.setReleases(releases);
                         //Log.i(TAG, "US rating is " + mMovie.getUSRating());
                         displayMovieDetails(mMovie);
                     }
 
                     @Override
-                    public void failure(RetrofitError error) {
+                    public void onMovieFailed(int tmdbId, RetrofitError error) {
+                        if (!isAdded() || tmdbId != mMovieId)
+                            return;
                         // Handle errors here.
-                        Utils.showToast(getActivity(), "Failed to download releases " + mMovieId);
+                        Utils.showToast(getActivity(), "Failed to download movie " + mMovieId);
                     }
                 });
     }
@@ -299,9 +279,8 @@ public class DetailFragment extends Fragment {
         mTextViewGenres.setText(movie.getGenres());
         displayTrailers(movie.getTrailers());
         displayReviews(movie.getReviews());
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.ENGLISH);
-        if (movie.getReleaseDate() != null)
-            mTextViewReleaseDate.setText(sdf.format(movie.getReleaseDate()));
+        if (movie.getReleaseEpochDay() != ReleaseDates.NONE)
+            mTextViewReleaseDate.setText(ReleaseDates.format(movie.getReleaseEpochDay()));
         CharSequence runtime = Phrase.from(getActivity(), R.string.text_runtime)
                 .put("runtime", movie.getRuntime().toString())
                 .format();
@@ -21,7 +21,7 @@ import com.nano.movies.adapters.MovieAdapterWithCursor;
 import com.nano.movies.data.movie.MovieColumns;
 import com.nano.movies.data.movie.MovieSelection;
 import com.nano.movies.utils.FavoritesRecyclerTouchListener;
-import com.nano.movies.web.Movie;
+import com.nano.movies.utils.PosterPrefetcher;
 import com.nano.movies.web.Tmdb;
 
 import butterknife.BindString;
@@ -31,6 +31,7 @@ public class FavoritesGridFragment extends Fragment implements LoaderManager.Loa
 
     private RecyclerView mRecyclerView;
     private MovieAdapterWithCursor mMovieAdapter;
+    private PosterPrefetcher mPosterPrefetcher;
 
     //Cursor loader variables
     private static final int MOVIE_LOADER = 0;
@@ -56,7 +57,7 @@ public class FavoritesGridFragment extends Fragment implements LoaderManager.Loa
     public interface MovieSelectionListener {
         boolean onRegisterMovie(int position, int movieId);
         void onMovieSelected(int position, int movieId, boolean isUserSelected);
-        void onCachedFavoriteSelected(Movie movie, boolean isUserSelected);
+        RecyclerView.RecycledViewPool getPosterViewPool();
     }
 
     private MovieSelectionListener mCallback = null;
@@ -87,6 +88,9 @@ public class FavoritesGridFragment extends Fragment implements LoaderManager.Loa
             mRecyclerView.setLayoutManager(new GridLayoutManager(getActivity(), 2));
         else
             mRecyclerView.setLayoutManager(new GridLayoutManager(getActivity(), 3));
+        //Hand cells back to the shared pool when this grid's view goes away
+        ((GridLayoutManager) mRecyclerView.getLayoutManager()).setRecycleChildrenOnDetach(true);
+        mRecyclerView.setRecycledViewPool(mCallback.getPosterViewPool());
         mRecyclerView.setHasFixedSize(true);
         mRecyclerView.setAdapter(mMovieAdapter);
         mRecyclerView.addOnItemTouchListener(new FavoritesRecyclerTouchListener(getActivity(),
@@ -99,25 +103,24 @@ public class FavoritesGridFragment extends Fragment implements LoaderManager.Loa
              */
             @Override
             public void onClick(View view, int position) {
-                //Move database cursor to new position
                 mLastPosition = position;
-                mMovieAdapter.moveCursorToPosition(mLastPosition);
-                Movie movie = mMovieAdapter.getItemAtPosition(mLastPosition);
-                mCallback.onRegisterMovie(MainActivity.FAVORITES, movie.getId());
-                selectCurrentMovie(movie,true);
+                int movieId = mMovieAdapter.getTmdbIdAtPosition(mLastPosition);
+                mCallback.onRegisterMovie(MainActivity.FAVORITES, movieId);
+                selectCurrentMovie(movieId, true);
             }
         }));
+        //Warm up the posters the grid is scrolling towards
+        mPosterPrefetcher = new PosterPrefetcher(mMovieAdapter);
+        mRecyclerView.addOnScrollListener(mPosterPrefetcher);
         return rootView;
     }
 
-    public void selectCurrentMovie(Movie movie,boolean isUserSelected) {
-        //Get latest movie info from the database
+    public void selectCurrentMovie(int movieId, boolean isUserSelected) {
         //Call back to MainActivity to handle the click event
         //true = Movie selected by user
-        if (getTmdbApp().isNetworkAvailable())
-            mCallback.onMovieSelected(MainActivity.FAVORITES,movie.getId(),isUserSelected);
-        else
-            mCallback.onCachedFavoriteSelected(movie,isUserSelected);
+        //The detail screen reads favorites from the database
+        //first, whether or not the network is up.
+        mCallback.onMovieSelected(MainActivity.FAVORITES, movieId, isUserSelected);
     }
 
     /**
@@ -143,6 +146,16 @@ public class FavoritesGridFragment extends Fragment implements LoaderManager.Loa
                 mRecyclerView.getLayoutManager().onSaveInstanceState());
     }
 
+    /**
+     * Cells go back to the shared pool, their posters
+     * are loaded by whichever grid picks them up next.
+     */
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        mPosterPrefetcher.cancel();
+    }
+
     @Override
     public void onAttach(Context context) {
         super.onAttach(context);
@@ -183,10 +196,12 @@ public class FavoritesGridFragment extends Fragment implements LoaderManager.Loa
         // Sort order:  Ascending, by title.
         String sortOrder = MovieColumns.ORIGINAL_TITLE + " ASC";
         MovieSelection movieSelection = new MovieSelection();
+        //Debug builds log how SQLite runs the queries the app makes most
+        movieSelection.explain();
         //Loader<Cursor> loader =
         return new CursorLoader(getActivity(),
                 movieSelection.uri(),
-                MovieColumns.ALL_COLUMNS,
+                MovieAdapterWithCursor.PROJECTION,
                 null,
                 null,
                 sortOrder);
@@ -217,10 +232,9 @@ public class FavoritesGridFragment extends Fragment implements LoaderManager.Loa
         if (mLastPosition < 0)
             return;
         mRecyclerView.smoothScrollToPosition(mLastPosition);
-        mMovieAdapter.moveCursorToPosition(mLastPosition);
-        Movie movie = mMovieAdapter.getItemAtPosition(mLastPosition);
-        if (mCallback.onRegisterMovie(MainActivity.FAVORITES, movie.getId()))
-            selectCurrentMovie(movie,false);
+        int movieId = mMovieAdapter.getTmdbIdAtPosition(mLastPosition);
+        if (mCallback.onRegisterMovie(MainActivity.FAVORITES, movieId))
+            selectCurrentMovie(movieId, false);
     }
 
     /**
@@ -8,13 +8,14 @@ import android.support.v4.app.Fragment;
 import android.support.v4.app.FragmentManager;
 import android.support.v4.view.ViewPager;
 import android.support.v7.app.AppCompatActivity;
+import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.Toolbar;
 import android.util.Log;
 
 //import com.facebook.stetho.Stetho;
 import com.nano.movies.R;
 import com.nano.movies.adapters.MovieStatePagerAdapter;
-import com.nano.movies.web.Movie;
+import com.nano.movies.adapters.PosterViewHolder;
 import com.nano.movies.web.MovieService;
 
 public class MainActivity extends AppCompatActivity
@@ -35,6 +36,10 @@ public class MainActivity extends AppCompatActivity
     private ViewPager mViewPager;
     private TabLayout mTabLayout;
     MoviePagerAdapter mPagerAdapter;
+    //Poster cells shared by all three grids, so swiping
+    //between tabs reuses cells instead of inflating new ones.
+    private RecyclerView.RecycledViewPool mPosterViewPool;
+    private static final int MAX_RECYCLED_POSTERS = 24;
 
 
     /**
@@ -90,6 +95,14 @@ public class MainActivity extends AppCompatActivity
     }
 
 
+    public RecyclerView.RecycledViewPool getPosterViewPool() {
+        if (mPosterViewPool == null) {
+            mPosterViewPool = new RecyclerView.RecycledViewPool();
+            mPosterViewPool.setMaxRecycledViews(PosterViewHolder.VIEW_TYPE, MAX_RECYCLED_POSTERS);
+        }
+        return mPosterViewPool;
+    }
+
     private int getMovieId(int position) {
         return mMovieIds[position];
     }
@@ -129,27 +142,6 @@ public class MainActivity extends AppCompatActivity
         }
     }
 
-    /**
-     * The networks is not available, so the Favorite movie
-     * was taken from the database.
-     */
-    public void onCachedFavoriteSelected(Movie movie, boolean isUserSelected) {
-        if (mIsTwoPane) {
-            mMovieDetailFragment.displayMovieDetails(movie);
-        } else {
-            if (isUserSelected)
-                startMovieDetailActivity(movie);
-        }
-    }
-
-    private void startMovieDetailActivity(Movie movie) {
-        Intent intent = new Intent(this, DetailActivity.class);
-        Bundle bundle = new Bundle();
-        bundle.putParcelable(DetailActivity.MOVIE_EXTRA, movie);
-        intent.putExtras(bundle);
-        this.startActivity(intent);
-    }
-
     private void startMovieDetailActivity(int movieId) {
         Intent intent = new Intent(this, DetailActivity.class);
         intent.putExtra(DetailActivity.MOVIE_ID_EXTRA, movieId);
@@ -20,31 +20,50 @@ import android.view.ViewGroup;
 import com.google.gson.annotations.SerializedName;
 import com.nano.movies.R;
 import com.nano.movies.adapters.MovieAdapter;
+import com.nano.movies.data.MovieRepository;
+import com.nano.movies.utils.EndlessScrollListener;
 import com.nano.movies.utils.MovieRecyclerTouchListener;
+import com.nano.movies.utils.PosterPrefetcher;
+import com.nano.movies.web.DiscoverPager;
 import com.nano.movies.web.Movie;
 import com.nano.movies.web.MovieService;
 import com.nano.movies.web.Tmdb;
-import com.nano.movies.web.TmdbResults;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import butterknife.BindString;
-import retrofit.Callback;
 import retrofit.RetrofitError;
-import retrofit.client.Response;
 
-public class MovieGridFragment extends ErrorHandlerFragment {
+public class MovieGridFragment extends ErrorHandlerFragment
+        implements DiscoverPager.PageListener {
     private final String TAG = MovieGridFragment.class.getSimpleName();
 
     private RecyclerView mRecyclerView;
     private MovieAdapter mMovieAdapter;
+    private PosterPrefetcher mPosterPrefetcher;
+    private DiscoverPager mPager;
+    //Start loading the next page when the grid gets
+    //this many posters from the end of the list.
+    private static final int LOAD_MORE_THRESHOLD = 6;
 
     //State vars that must survive a config change.
+    //Only the scroll state goes in the Bundle, the movies
+    //themselves are kept by the MovieRepository.
     private Parcelable mLayoutManagerSavedState;
     private int mLastPosition = 0;
     private String mSortBy;
     private List<Movie> mMovies = null;
+    private int mLastPage = 0;
+    private int mTotalPages = Integer.MAX_VALUE;
+    //The grid is showing a stale cached list, which is being
+    //replaced a page at a time as fresh pages arrive.
+    //Until then the cached pages that haven't been replaced yet
+    //stay at the end, so the grid doesn't shrink under the user.
+    private boolean mIsShowingCachedPages = false;
+    private List<Movie> mCachedMovies;
+    private int mCachedLastPage;
+    private List<Movie> mFreshMovies;
     private ProgressDialog mProgressDialog;
 
 
@@ -52,7 +71,6 @@ public class MovieGridFragment extends ErrorHandlerFragment {
     private final String BUNDLE_RECYCLER_LAYOUT = "SaveLayoutState";
     private final String BUNDLE_LAST_POSITION = "SaveLastPosition";
     private final String BUNDLE_SORT_BY = "SaveSortBy";
-    private final String BUNDLE_MOVIES = "SaveMovies";
     @BindString(R.string.error_download_movie_failed)
     String errorDownloadFailed;
     @BindString(R.string.error_implement_method)
@@ -69,6 +87,7 @@ public class MovieGridFragment extends ErrorHandlerFragment {
     public interface MovieSelectionListener {
         boolean onRegisterMovie(int position, int movieId);
         void onMovieSelected(int position, int movieId, boolean isUserSelected);
+        RecyclerView.RecycledViewPool getPosterViewPool();
     }
 
     private MovieSelectionListener mCallback = null;
@@ -108,6 +127,9 @@ public class MovieGridFragment extends ErrorHandlerFragment {
             mRecyclerView.setLayoutManager(new GridLayoutManager(activityContext, 1));
         else
             mRecyclerView.setLayoutManager(new GridLayoutManager(activityContext, 2));
+        //Hand cells back to the shared pool when this grid's view goes away
+        ((GridLayoutManager) mRecyclerView.getLayoutManager()).setRecycleChildrenOnDetach(true);
+        mRecyclerView.setRecycledViewPool(mCallback.getPosterViewPool());
         mRecyclerView.setHasFixedSize(true);
         mRecyclerView.setAdapter(mMovieAdapter);
         mRecyclerView.addOnItemTouchListener(new MovieRecyclerTouchListener(getActivity(),
@@ -127,6 +149,15 @@ public class MovieGridFragment extends ErrorHandlerFragment {
                 selectCurrentMovie(true);
             }
         }));
+        mRecyclerView.addOnScrollListener(new EndlessScrollListener(LOAD_MORE_THRESHOLD) {
+            @Override
+            public void onLoadMore() {
+                downloadNextPage();
+            }
+        });
+        //Warm up the posters the grid is scrolling towards
+        mPosterPrefetcher = new PosterPrefetcher(mMovieAdapter);
+        mRecyclerView.addOnScrollListener(mPosterPrefetcher);
         return rootView;
     }
 
@@ -141,8 +172,10 @@ public class MovieGridFragment extends ErrorHandlerFragment {
             mSortBy = savedInstanceState.getString(BUNDLE_SORT_BY);
             mLastPosition = savedInstanceState.getInt(BUNDLE_LAST_POSITION);
             mRecyclerView.getLayoutManager().onRestoreInstanceState(mLayoutManagerSavedState);
-            mMovies = savedInstanceState.getParcelableArrayList(BUNDLE_MOVIES);
         }
+        //mMovies survives a config change because the fragment is retained.
+        //If the process died instead, downloadMovies() gets the list back
+        //from the MovieRepository, which keeps it in memory and the database.
         if (mMovies != null)
             displayPosters();
         else
@@ -156,7 +189,23 @@ public class MovieGridFragment extends ErrorHandlerFragment {
         outState.putInt(BUNDLE_LAST_POSITION, mLastPosition);
         outState.putParcelable(BUNDLE_RECYCLER_LAYOUT,
                 mRecyclerView.getLayoutManager().onSaveInstanceState());
-        outState.putParcelableArrayList(BUNDLE_MOVIES, (ArrayList) mMovies);
+    }
+
+    /**
+     * Cells go back to the shared pool, their posters
+     * are loaded by whichever grid picks them up next.
+     */
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        mPosterPrefetcher.cancel();
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        if (mPager != null)
+            mPager.setPageListener(null);
     }
 
     /**
@@ -196,6 +245,27 @@ public class MovieGridFragment extends ErrorHandlerFragment {
         mProgressDialog.show();
     }
 
+    private void dismissProgressDialog() {
+        if (mProgressDialog != null && mProgressDialog.isShowing())
+            mProgressDialog.dismiss();
+    }
+
+    /**
+     * The pager remembers which discover page comes next,
+     * so create it once and keep it for the life of the fragment
+     * (which is retained across config changes).
+     */
+    private DiscoverPager getPager() {
+        if (mPager == null) {
+            Tmdb tmdbManager = getTmdbApp();
+            tmdbManager.setIsDebug(false);
+            mPager = tmdbManager.getMovieRepository().newDiscoverPager(mSortBy);
+            mPager.restore(mLastPage, mTotalPages);
+            mPager.setPageListener(this);
+        }
+        return mPager;
+    }
+
     /**
      * Called after parent Activity is created,
      * or after when changes Spinner selection
@@ -207,37 +277,107 @@ public class MovieGridFragment extends ErrorHandlerFragment {
         if (mMovies != null)
             return;
 
-        showProgressDialog();
-        Tmdb tmdbManager = getTmdbApp();
-        MovieService movieService = tmdbManager.getMovieService();
-        tmdbManager.setIsDebug(false);
-        movieService.discoverMovies(1, mSortBy, new Callback<TmdbResults>() {
-            @Override
-            public void success(TmdbResults results, Response response) {
-                //Save movies and stash/restore then on
-                //config changes so we can avoid a needless api call.
-                mMovies = results.results;
-                if (mProgressDialog.isShowing())
-                    mProgressDialog.dismiss();
-                displayPosters();
-            }
+        //Save movies and stash/restore then on
+        //config changes so we can avoid a needless api call.
+        mMovies = new ArrayList<>();
+        //Show whatever was cached last time right away,
+        //only wait on the network if there's nothing.
+        getTmdbApp().getMovieRepository().loadDiscoverPages(mSortBy,
+                new MovieRepository.DiscoverListener() {
+                    @Override
+                    public void onDiscoverPagesLoaded(List<Movie> movies, int lastPage,
+                                                      int totalPages, boolean isFresh) {
+                        if (!isAdded())
+                            return;
+                        if (movies.isEmpty()) {
+                            showProgressDialog();
+                            getPager().loadNextPage();
+                            return;
+                        }
+                        mMovies = new ArrayList<>(mMovieAdapter.setMovies(movies));
+                        restoreLayoutManagerPosition();
+                        showCurrentMovie();
+                        if (isFresh) {
+                            mLastPage = lastPage;
+                            mTotalPages = totalPages;
+                            getPager().restore(lastPage, totalPages);
+                        } else {
+                            //Start over from page 1 behind the cached posters
+                            mIsShowingCachedPages = true;
+                            mCachedMovies = mMovies;
+                            mCachedLastPage = lastPage;
+                            mFreshMovies = new ArrayList<>();
+                            getPager().loadNextPage();
+                        }
+                    }
+                });
+    }
 
-            /**
-             * A Json Syntax error can be a HUGE PAIN to debug.
-             * Set a breakpoint in Gson.java fromJSon. When error occurs
-             * look at the Variables trace for the "throwable.cause"
-             *
-             * @param error
-             */
-            //Errors are handled by an ApiErrorHandler,
-            //set in Tmdb.RestAdapter.Builder.setErrorHandler
-            @Override
-            public void failure(RetrofitError error) {
-                if (mProgressDialog.isShowing())
-                    mProgressDialog.dismiss();
-                Log.i(TAG, error.getMessage() + " kind = " + error.getKind());
-            }
-        });
+    /**
+     * Called as the grid nears the end of the posters
+     * it already has.  The pager has usually prefetched
+     * the page by then, so it shows up right away.
+     */
+    private void downloadNextPage() {
+        if (mMovies == null)
+            return;
+        getPager().loadNextPage();
+    }
+
+    @Override
+    public void onPageLoaded(List<Movie> movies, int page, int totalPages) {
+        dismissProgressDialog();
+        mLastPage = page;
+        mTotalPages = totalPages;
+        if (mIsShowingCachedPages) {
+            refreshCachedPages(movies, page, totalPages);
+            return;
+        }
+        boolean isFirstPage = mMovies.isEmpty();
+        mMovies.addAll(mMovieAdapter.addAll(movies));
+        if (isFirstPage) {
+            restoreLayoutManagerPosition();
+            showCurrentMovie();
+        }
+    }
+
+    /**
+     * Swap a fresh page in for the stale ones, and carry on
+     * until every page that was cached has been replaced.
+     * Posters that are in both lists keep their cells.
+     */
+    private void refreshCachedPages(List<Movie> movies, int page, int totalPages) {
+        mFreshMovies.addAll(movies);
+        List<Movie> refreshed = new ArrayList<>(mFreshMovies);
+        if (page >= mCachedLastPage || page >= totalPages) {
+            mIsShowingCachedPages = false;
+            mCachedMovies = null;
+            mFreshMovies = null;
+        } else {
+            //The adapter drops the cached copies of movies
+            //that are already on the fresh pages
+            refreshed.addAll(mCachedMovies);
+            getPager().loadNextPage();
+        }
+        mMovies = new ArrayList<>(mMovieAdapter.setMovies(refreshed));
+    }
+
+    /**
+     * A Json Syntax error can be a HUGE PAIN to debug.
+     * Set a breakpoint in Gson.java fromJSon. When error occurs
+     * look at the Variables trace for the "throwable.cause"
+     *
+     * @param error
+     */
+    //Errors are handled by an ApiErrorHandler,
+    //set in Tmdb.RestAdapter.Builder.setErrorHandler
+    @Override
+    public void onPageFailed(int page, RetrofitError error) {
+        dismissProgressDialog();
+        //Nothing displayed yet, so allow downloadMovies() to try again.
+        if (mMovies != null && mMovies.isEmpty())
+            mMovies = null;
+        Log.i(TAG, "Page " + page + ": " + error.getMessage() + " kind = " + error.getKind());
     }
 
 
@@ -262,13 +402,30 @@ public class MovieGridFragment extends ErrorHandlerFragment {
     }
 
     private void displayPosters() {
-        mMovieAdapter.clear();
-        mMovieAdapter.addAll(mMovies);
+        //Still waiting on the first page (rotated mid-download).
+        //onPageLoaded will fill the grid, submitting an empty list
+        //now would only make the differ diff that asynchronously.
+        if (mMovies.isEmpty())
+            return;
+        mMovieAdapter.setMovies(mMovies);
         //Tell main Activity that if it is in two-pane mode
         //it can display the movie at
         //mLastPosition, which will be 0 (first movie in the list)
         //if this is first time through.
         restoreLayoutManagerPosition();
+        showCurrentMovie();
+    }
+
+    /**
+     * Goes by mMovies, the list this fragment submitted, rather than
+     * by what the adapter displays, which the differ may not
+     * have caught up with yet.
+     */
+    private void showCurrentMovie() {
+        if (mCallback == null || mMovies == null || mMovies.isEmpty())
+            return;
+        if (mLastPosition >= mMovies.size())
+            mLastPosition = 0;
         //false = this movie is being displayed as part of screen setup, not
         //as result of user selection
         if (registerCurrentMovie())
@@ -279,7 +436,7 @@ public class MovieGridFragment extends ErrorHandlerFragment {
     //Call back to MainActivity to handle the click event,
     //which will request a more detailed version of the Movie object.
     public boolean registerCurrentMovie() {
-        Movie movie = mMovieAdapter.getItemAtPosition(mLastPosition);
+        Movie movie = mMovies.get(mLastPosition);
         if (mSortBy.equals(MovieService.POPULARITY_DESC))
             return mCallback.onRegisterMovie(MainActivity.MOST_POPULAR,movie.getId());
         else
@@ -290,7 +447,7 @@ public class MovieGridFragment extends ErrorHandlerFragment {
     //Call back to MainActivity to handle the click event,
     //which will request a more detailed version of the Movie object.
     public void selectCurrentMovie(boolean isUserSelected) {
-        Movie movie = mMovieAdapter.getItemAtPosition(mLastPosition);
+        Movie movie = mMovies.get(mLastPosition);
         if (mSortBy.equals(MovieService.POPULARITY_DESC))
             mCallback.onMovieSelected(MainActivity.MOST_POPULAR,movie.getId(), isUserSelected);
         else
@@ -6,59 +6,102 @@
 package com.nano.movies.adapters;
 
 import android.content.Context;
+import android.support.v7.recyclerview.extensions.AsyncListDiffer;
+import android.support.v7.util.DiffUtil;
 import android.support.v7.widget.RecyclerView;
-import android.view.LayoutInflater;
-import android.view.View;
+import android.text.TextUtils;
 import android.view.ViewGroup;
-import android.widget.ImageView;
 
 import com.nano.movies.R;
+import com.nano.movies.utils.PosterPrefetcher;
 import com.nano.movies.web.Movie;
 import com.nano.movies.web.Tmdb;
 import com.squareup.picasso.Picasso;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-
-import butterknife.BindView;
-import butterknife.ButterKnife;
+import java.util.Set;
 
 /**
  * Adapter for connecting the RecyclerView with
  * the list of Movies.
+ * <p/>
+ * Every change to the list is handed to an AsyncListDiffer, which
+ * diffs it against what's on screen (by Tmdb id) on a background
+ * thread and then dispatches only the inserts, moves and removes
+ * that are actually needed.
  */
-public class MovieAdapter extends RecyclerView.Adapter<MovieAdapter.MovieViewHolder> {
-    private final List<Movie> mMovies;
+public class MovieAdapter extends RecyclerView.Adapter<PosterViewHolder>
+        implements PosterPrefetcher.PosterSource {
+    private final AsyncListDiffer<Movie> mDiffer;
+    //The most recently submitted list.  The differ may still be
+    //working on it, so it can be ahead of what's displayed.
+    //Never modified after it's submitted, only replaced.
+    private List<Movie> mMovies;
+    //Tmdb ids already in the list. Discover pages can overlap when
+    //the rankings shift between requests, so the same movie may show up twice.
+    private final Set<Integer> mMovieIds;
+    //The grid, for sizing posters to its cells
+    private RecyclerView mRecyclerView;
+
+    private static final DiffUtil.ItemCallback<Movie> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<Movie>() {
+                @Override
+                public boolean areItemsTheSame(Movie oldMovie, Movie newMovie) {
+                    return oldMovie.getId().equals(newMovie.getId());
+                }
+
+                //Only the poster and title are displayed
+                @Override
+                public boolean areContentsTheSame(Movie oldMovie, Movie newMovie) {
+                    return TextUtils.equals(oldMovie.getPosterPath(), newMovie.getPosterPath())
+                            && TextUtils.equals(oldMovie.getTitle(), newMovie.getTitle());
+                }
+            };
 
     public MovieAdapter(Context context) {
         super();
+        mDiffer = new AsyncListDiffer<>(this, DIFF_CALLBACK);
         mMovies = new ArrayList<>();
+        mMovieIds = new HashSet<>();
+        //Tmdb ids are unique within the list
+        setHasStableIds(true);
     }
 
-    public class MovieViewHolder extends RecyclerView.ViewHolder {
-        @BindView(R.id.img_poster)
-        public ImageView imgPoster;
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mRecyclerView = recyclerView;
+    }
 
-        public MovieViewHolder(View itemView) {
-            super(itemView);
-            ButterKnife.bind(this, itemView);
-        }
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        mRecyclerView = null;
+    }
+
+    @Override
+    public PosterViewHolder onCreateViewHolder(ViewGroup viewGroup, int i) {
+        return PosterViewHolder.create(viewGroup);
     }
 
     @Override
-    public MovieViewHolder onCreateViewHolder(ViewGroup viewGroup, int i) {
-        View view = LayoutInflater.from(viewGroup.getContext())
-                .inflate(R.layout.movie_grid_item, viewGroup, false);
+    public int getItemViewType(int position) {
+        return PosterViewHolder.VIEW_TYPE;
+    }
 
-        return new MovieViewHolder(view);
+    @Override
+    public long getItemId(int position) {
+        return getItemAtPosition(position).getId();
     }
 
     @Override
-    public void onBindViewHolder(final MovieViewHolder holder, int position) {
+    public void onBindViewHolder(final PosterViewHolder holder, int position) {
         //Movie movie = mMovies.get(holder.getAdapterPosition());
         Movie movie = getItemAtPosition(position);
         final String movieImageUrl = Tmdb.getMoviePosterUrl(movie.getPosterPath(),
-                Tmdb.IMAGE_POSTER_MED);
+                PosterViewHolder.getPosterSize(mRecyclerView));
 
         Picasso.get()
                 .load(movieImageUrl)
@@ -69,37 +112,81 @@ public class MovieAdapter extends RecyclerView.Adapter<MovieAdapter.MovieViewHol
         holder.imgPoster.setContentDescription(movie.getTitle());
     }
 
+    /**
+     * The cell has scrolled off screen, so stop
+     * loading a poster nobody will see.
+     */
+    @Override
+    public void onViewRecycled(PosterViewHolder holder) {
+        super.onViewRecycled(holder);
+        Picasso.get().cancelRequest(holder.imgPoster);
+    }
+
     @Override
     public int getItemCount() {
-        return mMovies.size();
+        return mDiffer.getCurrentList().size();
     }
 
     public Movie getItemAtPosition(int position) {
-        return mMovies.get(position);
+        return mDiffer.getCurrentList().get(position);
+    }
+
+    @Override
+    public String getPosterPath(int position) {
+        return getItemAtPosition(position).getPosterPath();
     }
 
-    public void addAll(List<Movie> movies) {
-        for (int position = 0; position < movies.size(); position++) {
-            addItem(movies.get(position), position);
+    /**
+     * Replace the list, eg., when it's restored or re-sorted.
+     * Movies that are in both lists keep their views.
+     *
+     * @return the movies actually in the list, without duplicates.
+     * Don't modify it.
+     */
+    public List<Movie> setMovies(List<Movie> movies) {
+        mMovies = new ArrayList<>(movies.size());
+        mMovieIds.clear();
+        for (Movie movie : movies) {
+            if (mMovieIds.add(movie.getId()))
+                mMovies.add(movie);
         }
+        mDiffer.submitList(mMovies);
+        return mMovies;
     }
 
-    private void addItem(Movie movie, int position) {
-        mMovies.add(position, movie);
-        notifyItemInserted(position);
+    /**
+     * Append movies to the end of the list, skipping any that
+     * are already in it.  The differ turns this into a single
+     * range insert.
+     *
+     * @return the movies that were actually added
+     */
+    public List<Movie> addAll(List<Movie> movies) {
+        List<Movie> added = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            if (mMovieIds.add(movie.getId()))
+                added.add(movie);
+        }
+        if (added.size() == 0)
+            return added;
+        List<Movie> newMovies = new ArrayList<>(mMovies.size() + added.size());
+        newMovies.addAll(mMovies);
+        newMovies.addAll(added);
+        mMovies = newMovies;
+        mDiffer.submitList(mMovies);
+        return added;
     }
 
     /**
      * Clear all the movies from the RecyclerView,
      * usually in preparation for re-downloading
      * the list with different sort criteria.
+     * The next list submitted after this is displayed
+     * right away, without diffing.
      */
     public void clear() {
-        int size = mMovies.size();
-        if (size <= 0)
-            return;
-        for (int i = 0; i < size; i++)
-            mMovies.remove(0);
-        notifyItemRangeRemoved(0, size);
+        mMovies = new ArrayList<>();
+        mMovieIds.clear();
+        mDiffer.submitList(null);
     }
 }
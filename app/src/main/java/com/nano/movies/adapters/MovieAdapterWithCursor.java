@@ -3,19 +3,14 @@ package com.nano.movies.adapters;
 import android.content.Context;
 import android.database.Cursor;
 import android.support.v7.widget.RecyclerView;
-import android.view.LayoutInflater;
-import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ImageView;
 
 import com.nano.movies.R;
-import com.nano.movies.web.Movie;
+import com.nano.movies.data.movie.MovieColumns;
+import com.nano.movies.utils.PosterPrefetcher;
 import com.nano.movies.web.Tmdb;
 import com.squareup.picasso.Picasso;
 
-import butterknife.BindView;
-import butterknife.ButterKnife;
-
 /**
  * Adapter for connecting the RecyclerView with
  * the list of Movies.
@@ -23,43 +18,82 @@ import butterknife.ButterKnife;
  * Udacity RecyclerView gist
  * https://github.com/udacity/Advanced_Android_Development/blob/6.18_Bonus_RecyclerView_Code/app/src/main/java/com/example/android/sunshine/app/ForecastAdapter.java
  */
-public class MovieAdapterWithCursor extends RecyclerView.Adapter<MovieAdapterWithCursor.MovieViewHolder> {
+public class MovieAdapterWithCursor extends RecyclerView.Adapter<PosterViewHolder>
+        implements PosterPrefetcher.PosterSource {
+    /**
+     * The grid only shows posters, so only query what it needs.
+     * The full Movie is read from the database when one is selected.
+     */
+    public static final String[] PROJECTION = new String[]{
+            MovieColumns._ID,
+            MovieColumns.TMDB_ID,
+            MovieColumns.POSTER_PATH,
+            MovieColumns.TITLE
+    };
+
     private Cursor mCursor;
+    // Column indexes, looked up once per cursor
+    private int mTmdbIdIndex;
+    private int mPosterPathIndex;
+    private int mTitleIndex;
+    //The grid, for sizing posters to its cells
+    private RecyclerView mRecyclerView;
 
     public MovieAdapterWithCursor(Context context) {
         super();
+        //Tmdb ids are unique in the movie table
+        setHasStableIds(true);
     }
 
-    public class MovieViewHolder extends RecyclerView.ViewHolder {
-        @BindView(R.id.img_poster)
-        public ImageView imgPoster;
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mRecyclerView = recyclerView;
+    }
 
-        public MovieViewHolder(View itemView) {
-            super(itemView);
-            ButterKnife.bind(this,itemView);
-        }
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        mRecyclerView = null;
+    }
+
+    @Override
+    public PosterViewHolder onCreateViewHolder(ViewGroup viewGroup, int i) {
+        return PosterViewHolder.create(viewGroup);
     }
 
     @Override
-    public MovieViewHolder onCreateViewHolder(ViewGroup viewGroup, int i) {
-        View view = LayoutInflater.from(viewGroup.getContext())
-                .inflate(R.layout.movie_grid_item, viewGroup, false);
-        return new MovieViewHolder(view);
+    public int getItemViewType(int position) {
+        return PosterViewHolder.VIEW_TYPE;
     }
 
     @Override
-    public void onBindViewHolder(final MovieViewHolder holder, int position) {
+    public long getItemId(int position) {
+        return getTmdbIdAtPosition(position);
+    }
+
+    @Override
+    public void onBindViewHolder(final PosterViewHolder holder, int position) {
         mCursor.moveToPosition(position);
-        Movie movie = new Movie(mCursor);
-        final String movieImageUrl = Tmdb.getMoviePosterUrl(movie.getPosterPath(),
-                Tmdb.IMAGE_POSTER_MED);
+        final String movieImageUrl = Tmdb.getMoviePosterUrl(mCursor.getString(mPosterPathIndex),
+                PosterViewHolder.getPosterSize(mRecyclerView));
         Picasso.get()
                 .load(movieImageUrl)
                 .placeholder(R.drawable.placeholder_poster_w185)
                 .error(R.drawable.no_poster_w185)
                 .into(holder.imgPoster);
 
-        holder.imgPoster.setContentDescription(movie.getTitle());
+        holder.imgPoster.setContentDescription(mCursor.getString(mTitleIndex));
+    }
+
+    /**
+     * The cell has scrolled off screen, so stop
+     * loading a poster nobody will see.
+     */
+    @Override
+    public void onViewRecycled(PosterViewHolder holder) {
+        super.onViewRecycled(holder);
+        Picasso.get().cancelRequest(holder.imgPoster);
     }
 
     @Override
@@ -68,18 +102,27 @@ public class MovieAdapterWithCursor extends RecyclerView.Adapter<MovieAdapterWit
           return mCursor.getCount();
     }
 
-    public Movie getItemAtPosition(int position) {
-        // Get the movie out of the database
-        mCursor.getCount();
-        return (new Movie(mCursor));
+    /**
+     * @return the Tmdb id of the movie at position
+     */
+    public int getTmdbIdAtPosition(int position) {
+        mCursor.moveToPosition(position);
+        return mCursor.getInt(mTmdbIdIndex);
     }
 
-    public void moveCursorToPosition(int position) {
+    @Override
+    public String getPosterPath(int position) {
         mCursor.moveToPosition(position);
+        return mCursor.getString(mPosterPathIndex);
     }
 
     public void swapCursor(Cursor newCursor) {
         mCursor = newCursor;
+        if (mCursor != null) {
+            mTmdbIdIndex = mCursor.getColumnIndexOrThrow(MovieColumns.TMDB_ID);
+            mPosterPathIndex = mCursor.getColumnIndexOrThrow(MovieColumns.POSTER_PATH);
+            mTitleIndex = mCursor.getColumnIndexOrThrow(MovieColumns.TITLE);
+        }
         notifyDataSetChanged();
     }
 
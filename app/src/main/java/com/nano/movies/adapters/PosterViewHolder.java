@@ -0,0 +1,55 @@
+package com.nano.movies.adapters;
+
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import com.nano.movies.R;
+import com.nano.movies.web.Tmdb;
+
+import butterknife.BindView;
+import butterknife.ButterKnife;
+
+/**
+ * A movie_grid_item poster cell.
+ * <p/>
+ * MovieAdapter and MovieAdapterWithCursor both use this holder
+ * and the same view type, so the three grids in MainActivity can
+ * share one RecycledViewPool and reuse each other's cells.
+ */
+public class PosterViewHolder extends RecyclerView.ViewHolder {
+    public static final int VIEW_TYPE = R.layout.movie_grid_item;
+
+    @BindView(R.id.img_poster)
+    public ImageView imgPoster;
+
+    public PosterViewHolder(View itemView) {
+        super(itemView);
+        ButterKnife.bind(this, itemView);
+    }
+
+    /**
+     * The Tmdb poster size to request for a cell in recyclerView's grid.
+     * Cells share the grid's width evenly, and the grids switch between
+     * 1, 2 and 3 columns with orientation, so work it out from those.
+     */
+    public static String getPosterSize(RecyclerView recyclerView) {
+        if (recyclerView == null)
+            return Tmdb.IMAGE_POSTER_MED;
+        int spanCount = 1;
+        if (recyclerView.getLayoutManager() instanceof GridLayoutManager)
+            spanCount = ((GridLayoutManager) recyclerView.getLayoutManager()).getSpanCount();
+        int width = recyclerView.getWidth()
+                - recyclerView.getPaddingLeft() - recyclerView.getPaddingRight();
+        return Tmdb.getPosterSize(width / spanCount);
+    }
+
+    public static PosterViewHolder create(ViewGroup viewGroup) {
+        View view = LayoutInflater.from(viewGroup.getContext())
+                .inflate(R.layout.movie_grid_item, viewGroup, false);
+        return new PosterViewHolder(view);
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Created by Jill Heske
+ * <p/>
+ * Copyright(c) 2015
+ */
+package com.nano.movies.data;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+/**
+ * Woken by FavoritesSyncService's alarms, just hands the work
+ * to the service so it runs off the main thread.
+ */
+public class FavoritesSyncReceiver extends BroadcastReceiver {
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        FavoritesSyncService.enqueueWork(context);
+    }
+}
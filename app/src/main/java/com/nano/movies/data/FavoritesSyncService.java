@@ -0,0 +1,208 @@
+/**
+ * Created by Jill Heske
+ * <p/>
+ * Copyright(c) 2015
+ */
+package com.nano.movies.data;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.v4.app.JobIntentService;
+import android.util.Log;
+
+import com.nano.movies.data.movie.MovieColumns;
+import com.nano.movies.data.movie.MovieCursor;
+import com.nano.movies.data.movie.MovieSelection;
+import com.nano.movies.utils.DatabaseUtils;
+import com.nano.movies.utils.Utils;
+import com.nano.movies.web.ErroHandler.ApiErrorHandler;
+import com.nano.movies.web.ErroHandler.BroadcastedException;
+import com.nano.movies.web.Movie;
+import com.nano.movies.web.MovieService;
+import com.nano.movies.web.Tmdb;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit.RetrofitError;
+
+/**
+ * Keeps favorites current in the background, so opening one
+ * doesn't have to wait on tmdb.org for new vote counts, reviews
+ * and trailers.
+ * <p/>
+ * Twice a day (inexactly, so Android can line it up with other
+ * wakeups) the favorites that haven't been refreshed for a while are
+ * downloaded again, stalest first, BATCH_SIZE at a time.  Each batch is
+ * written in one transaction, and only the rows that actually changed
+ * are written (see DatabaseUtils.updateFavorites).
+ * <p/>
+ * Errors are sorted the same way ApiErrorHandler sorts them:
+ * - NETWORK, INTERNAL_SERVER: worth trying again soon, so stop and
+ * retry after a backoff that doubles every time, up to MAX_BACKOFF_MILLIS.
+ * - UNAUTHORIZED, FORBIDDEN: the api key is no good, retrying won't help.
+ * Stop and wait for the next regular sync.
+ * - anything else (eg., 404 for a movie tmdb.org dropped):
+ * skip that movie and carry on.
+ * <p/>
+ * JobIntentService runs as a job on Oreo and up, and as a plain
+ * service before that, on its own background thread either way.
+ */
+public class FavoritesSyncService extends JobIntentService {
+    private static final String TAG = FavoritesSyncService.class.getSimpleName();
+
+    private static final int JOB_ID = 1001;
+    private static final int REQUEST_PERIODIC = 0;
+    private static final int REQUEST_RETRY = 1;
+
+    private static final long SYNC_INTERVAL_MILLIS = AlarmManager.INTERVAL_HALF_DAY;
+    //Favorites refreshed more recently than this are left alone
+    private static final long MIN_AGE_MILLIS = 6 * 60 * 60 * 1000L;
+    private static final int BATCH_SIZE = 10;
+    private static final long BASE_BACKOFF_MILLIS = 60 * 1000L;
+    private static final long MAX_BACKOFF_MILLIS = 2 * 60 * 60 * 1000L;
+
+    private static final String PREFS_NAME = "favorites_sync";
+    private static final String PREF_FAILED_ATTEMPTS = "failed_attempts";
+    //Wall clock time the next regular sync is due, so it
+    //survives a reboot (which clears alarms and elapsed time)
+    private static final String PREF_NEXT_SYNC_AT = "next_sync_at";
+
+    /**
+     * Set up the regular sync, if it isn't already.  Called on every app
+     * start, including the one the alarm itself causes, so an alarm that's
+     * already set is left alone.  Replacing it would push the sync another
+     * SYNC_INTERVAL_MILLIS out every time, and it might never run.
+     */
+    public static void schedule(Context context) {
+        Intent intent = new Intent(context, FavoritesSyncReceiver.class);
+        if (PendingIntent.getBroadcast(context, REQUEST_PERIODIC, intent,
+                PendingIntent.FLAG_NO_CREATE) != null)
+            return;
+        //No alarm (first run, or after a reboot).  Keep the due time
+        //we had, if there was one, rather than starting the wait over.
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
+        long now = System.currentTimeMillis();
+        long nextSyncAt = prefs.getLong(PREF_NEXT_SYNC_AT, 0);
+        if (nextSyncAt == 0 || nextSyncAt > now + SYNC_INTERVAL_MILLIS)
+            nextSyncAt = now + SYNC_INTERVAL_MILLIS;
+        prefs.edit().putLong(PREF_NEXT_SYNC_AT, nextSyncAt).apply();
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        alarmManager.setInexactRepeating(AlarmManager.ELAPSED_REALTIME,
+                SystemClock.elapsedRealtime() + Math.max(0, nextSyncAt - now),
+                SYNC_INTERVAL_MILLIS,
+                getAlarmIntent(context, REQUEST_PERIODIC));
+    }
+
+    public static void enqueueWork(Context context) {
+        enqueueWork(context, FavoritesSyncService.class, JOB_ID,
+                new Intent(context, FavoritesSyncService.class));
+    }
+
+    private static PendingIntent getAlarmIntent(Context context, int requestCode) {
+        Intent intent = new Intent(context, FavoritesSyncReceiver.class);
+        return PendingIntent.getBroadcast(context, requestCode, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT);
+    }
+
+    @Override
+    protected void onHandleWork(@NonNull Intent intent) {
+        //The repeating alarm carries on by itself, this just
+        //remembers when, in case it's lost to a reboot
+        getPrefs().edit().putLong(PREF_NEXT_SYNC_AT,
+                System.currentTimeMillis() + SYNC_INTERVAL_MILLIS).apply();
+        if (!Utils.isNetworkAvailable(this)) {
+            scheduleRetry();
+            return;
+        }
+        Tmdb tmdb = (Tmdb) getApplication();
+        MovieService movieService = tmdb.getSyncMovieService();
+        List<Integer> tmdbIds = getFavoritesToSync(System.currentTimeMillis() - MIN_AGE_MILLIS);
+        List<Movie> batch = new ArrayList<>(BATCH_SIZE);
+        for (int tmdbId : tmdbIds) {
+            try {
+                batch.add(movieService.summary(tmdbId, MovieService.REVIEWS_TRAILERS_AND_RELEASES));
+            } catch (RetrofitError error) {
+                BroadcastedException.EXCEPTION_TYPE type = ApiErrorHandler.getExceptionType(error);
+                Log.i(TAG, "Sync failed for " + tmdbId + ": " + type + " " + error.getMessage());
+                if (type == BroadcastedException.EXCEPTION_TYPE.NETWORK
+                        || type == BroadcastedException.EXCEPTION_TYPE.INTERNAL_SERVER) {
+                    //Keep what we have so far, the rest get another go later
+                    saveBatch(tmdb, batch);
+                    scheduleRetry();
+                    return;
+                }
+                if (type == BroadcastedException.EXCEPTION_TYPE.UNAUTHORIZED
+                        || type == BroadcastedException.EXCEPTION_TYPE.FORBIDDEN) {
+                    saveBatch(tmdb, batch);
+                    getPrefs().edit().putInt(PREF_FAILED_ATTEMPTS, 0).apply();
+                    return;
+                }
+                continue;
+            }
+            if (batch.size() == BATCH_SIZE) {
+                saveBatch(tmdb, batch);
+                batch.clear();
+            }
+        }
+        saveBatch(tmdb, batch);
+        getPrefs().edit().putInt(PREF_FAILED_ATTEMPTS, 0).apply();
+    }
+
+    private void saveBatch(Tmdb tmdb, List<Movie> batch) {
+        if (batch.isEmpty())
+            return;
+        DatabaseUtils.updateFavorites(this, batch);
+        //So the detail screen doesn't show an older copy from memory
+        for (Movie movie : batch)
+            tmdb.getMovieCache().put(movie);
+    }
+
+    /**
+     * One-shot alarm after a transient failure, waiting twice as
+     * long each time it fails in a row.
+     */
+    private void scheduleRetry() {
+        SharedPreferences prefs = getPrefs();
+        int failedAttempts = prefs.getInt(PREF_FAILED_ATTEMPTS, 0);
+        //Stop shifting once the cap is reached, so this can't overflow
+        long backoff = (failedAttempts >= 7) ? MAX_BACKOFF_MILLIS
+                : Math.min(BASE_BACKOFF_MILLIS << failedAttempts, MAX_BACKOFF_MILLIS);
+        prefs.edit().putInt(PREF_FAILED_ATTEMPTS, failedAttempts + 1).apply();
+        AlarmManager alarmManager = (AlarmManager) getSystemService(Context.ALARM_SERVICE);
+        alarmManager.set(AlarmManager.ELAPSED_REALTIME,
+                SystemClock.elapsedRealtime() + backoff,
+                getAlarmIntent(this, REQUEST_RETRY));
+    }
+
+    /**
+     * @return Tmdb ids of the favorites last fetched before
+     * fetchedBefore, the stalest first.
+     */
+    private List<Integer> getFavoritesToSync(long fetchedBefore) {
+        MovieSelection movieSelection = new MovieSelection();
+        movieSelection.fetchedAtLt(fetchedBefore).or().fetchedAt((Long) null)
+                .orderByFetchedAt();
+        String[] projection = {MovieColumns._ID, MovieColumns.TMDB_ID};
+        MovieCursor cursor = movieSelection.query(getContentResolver(), projection);
+        List<Integer> tmdbIds = new ArrayList<>();
+        if (cursor == null)
+            return tmdbIds;
+        try {
+            while (cursor.moveToNext())
+                tmdbIds.add(cursor.getTmdbId());
+        } finally {
+            cursor.close();
+        }
+        return tmdbIds;
+    }
+
+    private SharedPreferences getPrefs() {
+        return getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
+    }
+}
@@ -11,6 +11,8 @@ import android.util.Log;
 
 import com.nano.movies.BuildConfig;
 import com.nano.movies.data.base.BaseContentProvider;
+import com.nano.movies.data.discovermovie.DiscoverMovieColumns;
+import com.nano.movies.data.discoverpage.DiscoverPageColumns;
 import com.nano.movies.data.movie.MovieColumns;
 import com.nano.movies.data.review.ReviewColumns;
 import com.nano.movies.data.trailer.TrailerColumns;
@@ -35,6 +37,12 @@ public class MovieProvider extends BaseContentProvider {
     private static final int URI_TYPE_TRAILER = 4;
     private static final int URI_TYPE_TRAILER_ID = 5;
 
+    private static final int URI_TYPE_DISCOVER_PAGE = 6;
+    private static final int URI_TYPE_DISCOVER_PAGE_ID = 7;
+
+    private static final int URI_TYPE_DISCOVER_MOVIE = 8;
+    private static final int URI_TYPE_DISCOVER_MOVIE_ID = 9;
+
 
 
     private static final UriMatcher URI_MATCHER = new UriMatcher(UriMatcher.NO_MATCH);
@@ -46,6 +54,10 @@ public class MovieProvider extends BaseContentProvider {
         URI_MATCHER.addURI(AUTHORITY, ReviewColumns.TABLE_NAME + "/#", URI_TYPE_REVIEW_ID);
         URI_MATCHER.addURI(AUTHORITY, TrailerColumns.TABLE_NAME, URI_TYPE_TRAILER);
         URI_MATCHER.addURI(AUTHORITY, TrailerColumns.TABLE_NAME + "/#", URI_TYPE_TRAILER_ID);
+        URI_MATCHER.addURI(AUTHORITY, DiscoverPageColumns.TABLE_NAME, URI_TYPE_DISCOVER_PAGE);
+        URI_MATCHER.addURI(AUTHORITY, DiscoverPageColumns.TABLE_NAME + "/#", URI_TYPE_DISCOVER_PAGE_ID);
+        URI_MATCHER.addURI(AUTHORITY, DiscoverMovieColumns.TABLE_NAME, URI_TYPE_DISCOVER_MOVIE);
+        URI_MATCHER.addURI(AUTHORITY, DiscoverMovieColumns.TABLE_NAME + "/#", URI_TYPE_DISCOVER_MOVIE_ID);
     }
 
     @Override
@@ -77,6 +89,16 @@ public class MovieProvider extends BaseContentProvider {
             case URI_TYPE_TRAILER_ID:
                 return TYPE_CURSOR_ITEM + TrailerColumns.TABLE_NAME;
 
+            case URI_TYPE_DISCOVER_PAGE:
+                return TYPE_CURSOR_DIR + DiscoverPageColumns.TABLE_NAME;
+            case URI_TYPE_DISCOVER_PAGE_ID:
+                return TYPE_CURSOR_ITEM + DiscoverPageColumns.TABLE_NAME;
+
+            case URI_TYPE_DISCOVER_MOVIE:
+                return TYPE_CURSOR_DIR + DiscoverMovieColumns.TABLE_NAME;
+            case URI_TYPE_DISCOVER_MOVIE_ID:
+                return TYPE_CURSOR_ITEM + DiscoverMovieColumns.TABLE_NAME;
+
         }
         return null;
     }
@@ -149,6 +171,22 @@ public class MovieProvider extends BaseContentProvider {
                 res.orderBy = TrailerColumns.DEFAULT_ORDER;
                 break;
 
+            case URI_TYPE_DISCOVER_PAGE:
+            case URI_TYPE_DISCOVER_PAGE_ID:
+                res.table = DiscoverPageColumns.TABLE_NAME;
+                res.idColumn = DiscoverPageColumns._ID;
+                res.tablesWithJoins = DiscoverPageColumns.TABLE_NAME;
+                res.orderBy = DiscoverPageColumns.DEFAULT_ORDER;
+                break;
+
+            case URI_TYPE_DISCOVER_MOVIE:
+            case URI_TYPE_DISCOVER_MOVIE_ID:
+                res.table = DiscoverMovieColumns.TABLE_NAME;
+                res.idColumn = DiscoverMovieColumns._ID;
+                res.tablesWithJoins = DiscoverMovieColumns.TABLE_NAME;
+                res.orderBy = DiscoverMovieColumns.DEFAULT_ORDER;
+                break;
+
             default:
                 throw new IllegalArgumentException("The uri '" + uri + "' is not supported by this ContentProvider");
         }
@@ -157,6 +195,8 @@ public class MovieProvider extends BaseContentProvider {
             case URI_TYPE_MOVIE_ID:
             case URI_TYPE_REVIEW_ID:
             case URI_TYPE_TRAILER_ID:
+            case URI_TYPE_DISCOVER_PAGE_ID:
+            case URI_TYPE_DISCOVER_MOVIE_ID:
                 id = uri.getLastPathSegment();
         }
         if (id != null) {
@@ -0,0 +1,512 @@
+/**
+ * Created by Jill Heske
+ * <p/>
+ * Copyright(c) 2015
+ */
+package com.nano.movies.data;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.nano.movies.data.base.NotificationCoalescer;
+import com.nano.movies.data.discoverpage.DiscoverPageColumns;
+import com.nano.movies.data.discoverpage.DiscoverPageCursor;
+import com.nano.movies.data.discoverpage.DiscoverPageSelection;
+import com.nano.movies.data.movie.MovieColumns;
+import com.nano.movies.data.movie.MovieCursor;
+import com.nano.movies.data.movie.MovieSelection;
+import com.nano.movies.utils.DatabaseUtils;
+import com.nano.movies.web.DiscoverPager;
+import com.nano.movies.web.Movie;
+import com.nano.movies.web.MovieCache;
+import com.nano.movies.web.MovieService;
+import com.nano.movies.web.TmdbResults;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import retrofit.Callback;
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+
+/**
+ * The one place the app goes for movies, so screens don't have to
+ * decide between MovieService and MovieProvider themselves.
+ * <p/>
+ * A movie comes from the first of these that has it:
+ * the MovieCache in memory, the favorites database, tmdb.org.
+ * Whatever is found locally is handed over right away, and if it's
+ * older than its max age it's refreshed from the network in the background
+ * and handed over again.  Favorites are written back with the new data.
+ * <p/>
+ * Each stored movie carries its own fetched_at timestamp, so freshness is
+ * judged per movie rather than by whether the network looked up when
+ * the app started.  If the network can't be reached, OkHttp's offline
+ * cache and the database are all there is, and that's fine.
+ * <p/>
+ * Listeners are always called on the main thread.
+ */
+public class MovieRepository {
+    public interface MovieListener {
+        /**
+         * Can be called twice for one request: first with the
+         * stored copy, then with the refreshed one.
+         */
+        void onMovieLoaded(Movie movie);
+
+        /**
+         * Only called if there was nothing stored to show either.
+         */
+        void onMovieFailed(int tmdbId, RetrofitError error);
+    }
+
+    public interface DiscoverListener {
+        /**
+         * @param movies     Every cached page's movies, in order.
+         *                   Empty if nothing is cached.
+         * @param lastPage   Last cached page, 0 if none.
+         * @param totalPages Pages in the whole list.
+         * @param isFresh    False if the list is older than its max age and
+         *                   should be replaced by a fresh first page.
+         */
+        void onDiscoverPagesLoaded(List<Movie> movies, int lastPage,
+                                   int totalPages, boolean isFresh);
+    }
+
+    public interface FavoriteListener {
+        void onIsFavoriteLoaded(int tmdbId, boolean isFavorite);
+    }
+
+    /**
+     * A favorite read from the database is shown without asking
+     * tmdb.org for updates for this long after it was fetched.
+     */
+    private static final long MOVIE_MAX_AGE_MILLIS = 24 * 60 * 60 * 1000L;
+    /**
+     * Cached discover lists are used as they are for this long after
+     * their first page was fetched.  Rankings don't move that fast.
+     */
+    private static final long DISCOVER_MAX_AGE_MILLIS = 6 * 60 * 60 * 1000L;
+    /**
+     * Longer discover lists aren't kept in memory, the grid that
+     * scrolled that far has its own copy, and the database has them.
+     */
+    private static final int MAX_MEMORY_PAGES = 10;
+
+    private final Context mContext;
+    private final MovieService mMovieService;
+    private final MovieCache mMovieCache;
+    //Database work happens here, one query at a time, in order.
+    private final Executor mDiskExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    //Discover lists as they stand in this process, keyed by sort order,
+    //so a grid that lost its views only needs ids and a scroll position
+    //to come back.  Only touched on the main thread.
+    //Capped at MAX_MEMORY_PAGES and dropped by onTrimMemory.
+    private final Map<String, StoredPages> mDiscoverLists = new HashMap<>();
+    //Tmdb ids of the favorites, so checking whether a movie is one
+    //doesn't touch the disk.  Null until it's been read, main thread only.
+    private Set<Integer> mFavoriteIds;
+    //setFavorite writes that haven't reached the database yet.
+    //A reload read before they land would undo them, so it's ignored.
+    private int mPendingFavoriteWrites = 0;
+
+    public MovieRepository(Context context, MovieService movieService, MovieCache movieCache) {
+        mContext = context.getApplicationContext();
+        mMovieService = movieService;
+        mMovieCache = movieCache;
+        //Whoever changes the movie table (sync service included),
+        //mFavoriteIds follows along.  Updates (eg., a new fetched_at)
+        //don't change which movies are favorites, new rows are looked up
+        //by _id, and only a delete means reading them all again.
+        NotificationCoalescer.addListener(new NotificationCoalescer.ChangeListener() {
+            @Override
+            public void onTablesChanged(Map<String, Set<Long>> changedRowIds) {
+                if (!changedRowIds.containsKey(MovieColumns.TABLE_NAME) || mFavoriteIds == null)
+                    return;
+                Set<Long> rowIds = changedRowIds.get(MovieColumns.TABLE_NAME);
+                if (rowIds == null)
+                    reloadFavoriteIds();
+                else if (!rowIds.isEmpty())
+                    addFavoriteRows(rowIds);
+            }
+        });
+        reloadFavoriteIds();
+    }
+
+    /**
+     * Whether a movie is a favorite.  Answered right away from memory,
+     * unless the favorites haven't been read yet, in which case
+     * the database is asked on the disk thread.
+     */
+    public void loadIsFavorite(final int tmdbId, final FavoriteListener listener) {
+        if (mFavoriteIds != null) {
+            listener.onIsFavoriteLoaded(tmdbId, mFavoriteIds.contains(tmdbId));
+            return;
+        }
+        mDiskExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final boolean isFavorite = DatabaseUtils.isFavoriteMovie(mContext, tmdbId);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onIsFavoriteLoaded(tmdbId, isFavorite);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Add the movie to favorites, or take it out.  Takes effect in memory
+     * right away, the database is written on the disk thread.
+     */
+    public void setFavorite(final Movie movie, final boolean isFavorite) {
+        if (mFavoriteIds != null) {
+            if (isFavorite)
+                mFavoriteIds.add(movie.getId());
+            else
+                mFavoriteIds.remove(movie.getId());
+        }
+        mPendingFavoriteWrites++;
+        mDiskExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (isFavorite)
+                    DatabaseUtils.insertMovie(mContext, movie);
+                else
+                    DatabaseUtils.deleteMovie(mContext, movie.getId());
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        mPendingFavoriteWrites--;
+                    }
+                });
+            }
+        });
+    }
+
+    private void addFavoriteRows(Set<Long> rowIds) {
+        final long[] ids = new long[rowIds.size()];
+        int i = 0;
+        for (long rowId : rowIds)
+            ids[i++] = rowId;
+        mDiskExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Set<Integer> favoriteIds = DatabaseUtils.getFavoriteIds(mContext, ids);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mFavoriteIds != null && mPendingFavoriteWrites == 0)
+                            mFavoriteIds.addAll(favoriteIds);
+                    }
+                });
+            }
+        });
+    }
+
+    private void reloadFavoriteIds() {
+        mDiskExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Set<Integer> favoriteIds = DatabaseUtils.getFavoriteIds(mContext);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mPendingFavoriteWrites == 0)
+                            mFavoriteIds = favoriteIds;
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Movie details, memory first, then database, then network.
+     */
+    public void loadMovie(final int tmdbId, final MovieListener listener) {
+        Movie cachedMovie = mMovieCache.get(tmdbId);
+        if (cachedMovie != null) {
+            listener.onMovieLoaded(cachedMovie);
+            return;
+        }
+        mDiskExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final StoredMovie storedMovie = readMovie(tmdbId);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (storedMovie != null)
+                            listener.onMovieLoaded(storedMovie.mMovie);
+                        if (storedMovie == null || !storedMovie.isFresh())
+                            fetchMovie(tmdbId, storedMovie != null, listener);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * A pager for one of the discover lists.
+     * Every page it downloads is cached in the database.
+     */
+    public DiscoverPager newDiscoverPager(String sortBy) {
+        return new DiscoverPager(mMovieService, sortBy, mPageStore);
+    }
+
+    /**
+     * The cached pages of a discover list, so a cold tab can show
+     * posters without waiting for the network.
+     * Memory first, then database.
+     */
+    public void loadDiscoverPages(final String sortBy, final DiscoverListener listener) {
+        StoredPages memoryPages = mDiscoverLists.get(sortBy);
+        if (memoryPages != null) {
+            deliverDiscoverPages(memoryPages, listener);
+            return;
+        }
+        mDiskExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final StoredPages storedPages = readDiscoverPages(sortBy);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        //Keep it in memory so the pager can add to it
+                        if (storedPages.getLastPage() > 0
+                                && storedPages.getLastPage() <= MAX_MEMORY_PAGES
+                                && !mDiscoverLists.containsKey(sortBy))
+                            mDiscoverLists.put(sortBy, storedPages);
+                        deliverDiscoverPages(storedPages, listener);
+                    }
+                });
+            }
+        });
+    }
+
+    private void deliverDiscoverPages(StoredPages storedPages, DiscoverListener listener) {
+        listener.onDiscoverPagesLoaded(storedPages.getMovies(),
+                storedPages.getLastPage(), storedPages.mTotalPages,
+                storedPages.isFresh());
+    }
+
+    private final DiscoverPager.PageStore mPageStore = new DiscoverPager.PageStore() {
+        @Override
+        public void storePage(final String sortBy, final TmdbResults results) {
+            final long fetchedAt = System.currentTimeMillis();
+            rememberPage(sortBy, results, fetchedAt);
+            mDiskExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    DatabaseUtils.insertDiscoverPage(mContext, sortBy, results, fetchedAt);
+                }
+            });
+        }
+    };
+
+    /**
+     * Add a page to the in-memory list, or replace the stale copy of it
+     * (a stale list is refreshed a page at a time, starting from 1).
+     * A page past the end has to follow the last one or the list is
+     * dropped, since the pager can't fill a hole in it.
+     */
+    private void rememberPage(String sortBy, TmdbResults results, long fetchedAt) {
+        if (results.page == null || results.results == null)
+            return;
+        StoredPages storedPages = mDiscoverLists.get(sortBy);
+        if (storedPages == null && results.page == 1) {
+            storedPages = new StoredPages();
+            mDiscoverLists.put(sortBy, storedPages);
+        } else if (storedPages == null || results.page > storedPages.getLastPage() + 1
+                || results.page > MAX_MEMORY_PAGES) {
+            mDiscoverLists.remove(sortBy);
+            return;
+        }
+        storedPages.setPage(results.page, results.results, fetchedAt);
+        if (results.total_pages != null)
+            storedPages.mTotalPages = results.total_pages;
+    }
+
+    /**
+     * The discover lists in memory are only a shortcut,
+     * the database still has them.  Call on the main thread.
+     */
+    public void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND)
+            mDiscoverLists.clear();
+    }
+
+    private void fetchMovie(final int tmdbId, final boolean isStored,
+                            final MovieListener listener) {
+        // Releases come back in the same response as reviews and trailers,
+        // so the Movie is complete in one round trip.
+        mMovieService.summary(tmdbId,
+                MovieService.REVIEWS_TRAILERS_AND_RELEASES,
+                new Callback<Movie>() {
+                    @Override
+                    public void success(Movie movie, Response response) {
+                        mMovieCache.put(movie);
+                        if (isStored)
+                            updateFavorite(movie);
+                        listener.onMovieLoaded(movie);
+                    }
+
+                    //Errors are handled by an ApiErrorHandler,
+                    //set in Tmdb.RestAdapter.Builder.setErrorHandler
+                    @Override
+                    public void failure(RetrofitError error) {
+                        //The stored copy is already on screen
+                        if (!isStored)
+                            listener.onMovieFailed(tmdbId, error);
+                    }
+                });
+    }
+
+    /**
+     * Update the stored favorite in place with the refreshed movie,
+     * unless it stopped being a favorite while we were waiting
+     * (updateFavorites skips those).
+     */
+    private void updateFavorite(final Movie movie) {
+        mDiskExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                DatabaseUtils.updateFavorites(mContext, Collections.singletonList(movie));
+            }
+        });
+    }
+
+    /**
+     * Releases aren't stored, so a stored favorite
+     * has no MPAA rating until it's refreshed.
+     *
+     * @return the stored favorite, with its trailers and reviews,
+     * and when it was fetched, or null if it isn't a favorite.
+     */
+    private StoredMovie readMovie(int tmdbId) {
+        MovieSelection movieSelection = new MovieSelection();
+        movieSelection.tmdbId(tmdbId);
+        MovieCursor cursor = movieSelection.query(mContext.getContentResolver(),
+                MovieColumns.ALL_COLUMNS);
+        if (cursor == null)
+            return null;
+        try {
+            if (!cursor.moveToFirst())
+                return null;
+            Movie movie = new Movie(cursor);
+            movie.setTrailers(DatabaseUtils.getTrailers(mContext, cursor.getId()));
+            movie.setReviews(DatabaseUtils.getReviews(mContext, cursor.getId()));
+            return new StoredMovie(movie, cursor.getFetchedAt(0));
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Only pages 1..n with no gaps are any use, the
+     * pager can only carry on from the last one.
+     * The list is as old as its oldest page.
+     */
+    private StoredPages readDiscoverPages(String sortBy) {
+        StoredPages storedPages = new StoredPages();
+        DiscoverPageSelection pageSelection = new DiscoverPageSelection();
+        pageSelection.sortBy(sortBy).orderByPage().explain();
+        String[] projection = {DiscoverPageColumns._ID, DiscoverPageColumns.PAGE,
+                DiscoverPageColumns.TOTAL_PAGES, DiscoverPageColumns.FETCHED_AT};
+        DiscoverPageCursor cursor = pageSelection.query(mContext.getContentResolver(), projection);
+        if (cursor == null)
+            return storedPages;
+        try {
+            while (cursor.moveToNext() && cursor.getPage() == storedPages.getLastPage() + 1) {
+                storedPages.setPage(cursor.getPage(),
+                        DatabaseUtils.getDiscoverMovies(mContext, cursor.getId()),
+                        cursor.getFetchedAt());
+                storedPages.mTotalPages = cursor.getTotalPages();
+            }
+        } finally {
+            cursor.close();
+        }
+        return storedPages;
+    }
+
+    private static class StoredPages {
+        //Page n is at n - 1
+        final List<List<Movie>> mPages = new ArrayList<>();
+        final List<Long> mFetchedAts = new ArrayList<>();
+        int mTotalPages = Integer.MAX_VALUE;
+
+        int getLastPage() {
+            return mPages.size();
+        }
+
+        /**
+         * Replace page if it's already here, otherwise it has to be the next one.
+         * Movies already on an earlier page are left out, pages overlap
+         * when the rankings shift between requests.
+         */
+        void setPage(int page, List<Movie> pageMovies, long fetchedAt) {
+            Set<Integer> earlierIds = new HashSet<>();
+            for (int i = 0; i < page - 1 && i < mPages.size(); i++) {
+                for (Movie movie : mPages.get(i))
+                    earlierIds.add(movie.getId());
+            }
+            List<Movie> movies = new ArrayList<>(pageMovies.size());
+            for (Movie movie : pageMovies) {
+                if (earlierIds.add(movie.getId()))
+                    movies.add(movie);
+            }
+            if (page <= mPages.size()) {
+                mPages.set(page - 1, movies);
+                mFetchedAts.set(page - 1, fetchedAt);
+            } else {
+                mPages.add(movies);
+                mFetchedAts.add(fetchedAt);
+            }
+        }
+
+        /**
+         * @return a copy of every page's movies, in order.
+         */
+        List<Movie> getMovies() {
+            List<Movie> movies = new ArrayList<>();
+            for (List<Movie> page : mPages)
+                movies.addAll(page);
+            return movies;
+        }
+
+        boolean isFresh() {
+            long now = System.currentTimeMillis();
+            for (long fetchedAt : mFetchedAts) {
+                if (now - fetchedAt >= DISCOVER_MAX_AGE_MILLIS)
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    private static class StoredMovie {
+        final Movie mMovie;
+        final long mFetchedAt;
+
+        StoredMovie(Movie movie, long fetchedAt) {
+            mMovie = movie;
+            mFetchedAt = fetchedAt;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() - mFetchedAt < MOVIE_MAX_AGE_MILLIS;
+        }
+    }
+}
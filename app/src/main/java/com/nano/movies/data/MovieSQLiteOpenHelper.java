@@ -10,6 +10,8 @@ import android.os.Build;
 import android.util.Log;
 
 import com.nano.movies.BuildConfig;
+import com.nano.movies.data.discovermovie.DiscoverMovieColumns;
+import com.nano.movies.data.discoverpage.DiscoverPageColumns;
 import com.nano.movies.data.movie.MovieColumns;
 import com.nano.movies.data.review.ReviewColumns;
 import com.nano.movies.data.trailer.TrailerColumns;
@@ -18,7 +20,7 @@ public class MovieSQLiteOpenHelper extends SQLiteOpenHelper {
     private static final String TAG = MovieSQLiteOpenHelper.class.getSimpleName();
 
     public static final String DATABASE_FILE_NAME = "movies.db";
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = 4;
     private static MovieSQLiteOpenHelper sInstance;
     private final Context mContext;
     private final MovieSQLiteOpenHelperCallbacks mOpenHelperCallbacks;
@@ -38,13 +40,28 @@ public class MovieSQLiteOpenHelper extends SQLiteOpenHelper {
             + MovieColumns.TAGLINE + " TEXT, "
             + MovieColumns.TITLE + " TEXT, "
             + MovieColumns.VOTE_AVERAGE + " REAL NOT NULL, "
-            + MovieColumns.VOTE_COUNT + " INTEGER NOT NULL "
+            + MovieColumns.VOTE_COUNT + " INTEGER NOT NULL, "
+            + MovieColumns.FETCHED_AT + " INTEGER "
             + ", CONSTRAINT unique_tmdb_id UNIQUE (tmdb_id) ON CONFLICT REPLACE"
             + " );";
 
+    // Version 3 added fetched_at
+    public static final String SQL_ADD_COLUMN_MOVIE_FETCHED_AT = "ALTER TABLE "
+            + MovieColumns.TABLE_NAME + " ADD COLUMN " + MovieColumns.FETCHED_AT + " INTEGER;";
+
     public static final String SQL_CREATE_INDEX_MOVIE_ORIGINAL_TITLE = "CREATE INDEX IDX_MOVIE_ORIGINAL_TITLE "
             + " ON " + MovieColumns.TABLE_NAME + " ( " + MovieColumns.ORIGINAL_TITLE + " );";
 
+    // Sort columns
+    public static final String SQL_CREATE_INDEX_MOVIE_POPULARITY = "CREATE INDEX IF NOT EXISTS IDX_MOVIE_POPULARITY "
+            + " ON " + MovieColumns.TABLE_NAME + " ( " + MovieColumns.POPULARITY + " );";
+
+    public static final String SQL_CREATE_INDEX_MOVIE_VOTE_AVERAGE = "CREATE INDEX IF NOT EXISTS IDX_MOVIE_VOTE_AVERAGE "
+            + " ON " + MovieColumns.TABLE_NAME + " ( " + MovieColumns.VOTE_AVERAGE + " );";
+
+    public static final String SQL_CREATE_INDEX_MOVIE_RELEASE_DATE = "CREATE INDEX IF NOT EXISTS IDX_MOVIE_RELEASE_DATE "
+            + " ON " + MovieColumns.TABLE_NAME + " ( " + MovieColumns.RELEASE_DATE + " );";
+
     public static final String SQL_CREATE_TABLE_REVIEW = "CREATE TABLE IF NOT EXISTS "
             + ReviewColumns.TABLE_NAME + " ( "
             + ReviewColumns._ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
@@ -57,6 +74,10 @@ public class MovieSQLiteOpenHelper extends SQLiteOpenHelper {
             + ", CONSTRAINT unique_tmdb_id UNIQUE (review_id) ON CONFLICT REPLACE"
             + " );";
 
+    // Foreign key, used by ON DELETE CASCADE and joins with movie
+    public static final String SQL_CREATE_INDEX_REVIEW_MOVIE_ID = "CREATE INDEX IF NOT EXISTS IDX_REVIEW_MOVIE_ID "
+            + " ON " + ReviewColumns.TABLE_NAME + " ( " + ReviewColumns.MOVIE_ID + " );";
+
     public static final String SQL_CREATE_TABLE_TRAILER = "CREATE TABLE IF NOT EXISTS "
             + TrailerColumns.TABLE_NAME + " ( "
             + TrailerColumns._ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
@@ -69,9 +90,38 @@ public class MovieSQLiteOpenHelper extends SQLiteOpenHelper {
             + ", CONSTRAINT fk_movie_id FOREIGN KEY (" + TrailerColumns.MOVIE_ID + ") REFERENCES movie (_id) ON DELETE CASCADE"
             + " );";
 
+    // Foreign key, used by ON DELETE CASCADE and joins with movie
+    public static final String SQL_CREATE_INDEX_TRAILER_MOVIE_ID = "CREATE INDEX IF NOT EXISTS IDX_TRAILER_MOVIE_ID "
+            + " ON " + TrailerColumns.TABLE_NAME + " ( " + TrailerColumns.MOVIE_ID + " );";
+
+    public static final String SQL_CREATE_TABLE_DISCOVER_PAGE = "CREATE TABLE IF NOT EXISTS "
+            + DiscoverPageColumns.TABLE_NAME + " ( "
+            + DiscoverPageColumns._ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + DiscoverPageColumns.SORT_BY + " TEXT NOT NULL, "
+            + DiscoverPageColumns.PAGE + " INTEGER NOT NULL, "
+            + DiscoverPageColumns.TOTAL_PAGES + " INTEGER NOT NULL, "
+            + DiscoverPageColumns.FETCHED_AT + " INTEGER NOT NULL "
+            + ", CONSTRAINT unique_sort_by_page UNIQUE (sort_by, page) ON CONFLICT REPLACE"
+            + " );";
+
+    public static final String SQL_CREATE_TABLE_DISCOVER_MOVIE = "CREATE TABLE IF NOT EXISTS "
+            + DiscoverMovieColumns.TABLE_NAME + " ( "
+            + DiscoverMovieColumns._ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + DiscoverMovieColumns.DISCOVER_PAGE_ID + " INTEGER NOT NULL, "
+            + DiscoverMovieColumns.POSITION + " INTEGER NOT NULL, "
+            + DiscoverMovieColumns.TMDB_ID + " INTEGER NOT NULL, "
+            + DiscoverMovieColumns.POSTER_PATH + " TEXT, "
+            + DiscoverMovieColumns.TITLE + " TEXT "
+            + ", CONSTRAINT fk_discover_page_id FOREIGN KEY (" + DiscoverMovieColumns.DISCOVER_PAGE_ID + ") REFERENCES discover_page (_id) ON DELETE CASCADE"
+            + " );";
+
+    // A page's movies are always read in order, and deleted with the page
+    public static final String SQL_CREATE_INDEX_DISCOVER_MOVIE_PAGE_POSITION = "CREATE INDEX IF NOT EXISTS IDX_DISCOVER_MOVIE_PAGE_POSITION "
+            + " ON " + DiscoverMovieColumns.TABLE_NAME + " ( " + DiscoverMovieColumns.DISCOVER_PAGE_ID + ", " + DiscoverMovieColumns.POSITION + " );";
+
     // @formatter:on
 
-    public static MovieSQLiteOpenHelper getInstance(Context context) {
+    public static synchronized MovieSQLiteOpenHelper getInstance(Context context) {
         // Use the application context, which will ensure that you
         // don't accidentally leak an Activity's context.
         // See this article for more information: http://bit.ly/6LRzfx
@@ -125,11 +175,25 @@ public class MovieSQLiteOpenHelper extends SQLiteOpenHelper {
         mOpenHelperCallbacks.onPreCreate(mContext, db);
         db.execSQL(SQL_CREATE_TABLE_MOVIE);
         db.execSQL(SQL_CREATE_INDEX_MOVIE_ORIGINAL_TITLE);
+        db.execSQL(SQL_CREATE_INDEX_MOVIE_POPULARITY);
+        db.execSQL(SQL_CREATE_INDEX_MOVIE_VOTE_AVERAGE);
+        db.execSQL(SQL_CREATE_INDEX_MOVIE_RELEASE_DATE);
         db.execSQL(SQL_CREATE_TABLE_REVIEW);
+        db.execSQL(SQL_CREATE_INDEX_REVIEW_MOVIE_ID);
         db.execSQL(SQL_CREATE_TABLE_TRAILER);
+        db.execSQL(SQL_CREATE_INDEX_TRAILER_MOVIE_ID);
+        db.execSQL(SQL_CREATE_TABLE_DISCOVER_PAGE);
+        db.execSQL(SQL_CREATE_TABLE_DISCOVER_MOVIE);
+        db.execSQL(SQL_CREATE_INDEX_DISCOVER_MOVIE_PAGE_POSITION);
         mOpenHelperCallbacks.onPostCreate(mContext, db);
     }
 
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        mOpenHelperCallbacks.onConfigure(mContext, db);
+    }
+
     @Override
     public void onOpen(SQLiteDatabase db) {
         super.onOpen(db);
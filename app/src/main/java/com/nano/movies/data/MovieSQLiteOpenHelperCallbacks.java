@@ -15,6 +15,60 @@ import com.nano.movies.BuildConfig;
 public class MovieSQLiteOpenHelperCallbacks {
     private static final String TAG = MovieSQLiteOpenHelperCallbacks.class.getSimpleName();
 
+    /**
+     * Write-ahead logging lets the favorites CursorLoader read
+     * while a favorite is being inserted or deleted.
+     */
+    private static final boolean WRITE_AHEAD_LOGGING = true;
+
+    /**
+     * NORMAL is safe with WAL (a power loss can only roll back the
+     * last transactions, never corrupt the db) and skips most fsyncs.
+     * Use FULL for rollback-journal mode.
+     */
+    private static final String SYNCHRONOUS = "NORMAL";
+
+    /**
+     * Page cache per connection, in KiB.
+     */
+    private static final int PAGE_CACHE_SIZE_KB = 1024;
+
+    /**
+     * Compiled statements kept per connection (Android's max is 100).
+     */
+    private static final int STATEMENT_CACHE_SIZE = 50;
+
+    public boolean isWriteAheadLoggingEnabled() {
+        return WRITE_AHEAD_LOGGING;
+    }
+
+    public String getSynchronousMode() {
+        return SYNCHRONOUS;
+    }
+
+    public int getPageCacheSizeKb() {
+        return PAGE_CACHE_SIZE_KB;
+    }
+
+    public int getStatementCacheSize() {
+        return STATEMENT_CACHE_SIZE;
+    }
+
+    /**
+     * Called when the connection is being configured, before
+     * onCreate/onUpgrade/onOpen and outside any transaction, so
+     * this is the place to change the journal mode.
+     */
+    public void onConfigure(final Context context, final SQLiteDatabase db) {
+        if (BuildConfig.DEBUG) Log.d(TAG, "onConfigure");
+        if (isWriteAheadLoggingEnabled())
+            db.enableWriteAheadLogging();
+        db.execSQL("PRAGMA synchronous=" + getSynchronousMode() + ";");
+        // A negative cache_size is in KiB instead of pages.
+        db.execSQL("PRAGMA cache_size=-" + getPageCacheSizeKb() + ";");
+        db.setMaxSqlCacheSize(getStatementCacheSize());
+    }
+
     public void onOpen(final Context context, final SQLiteDatabase db) {
         if (BuildConfig.DEBUG) Log.d(TAG, "onOpen");
         // Insert your db open code here.
@@ -33,5 +87,24 @@ public class MovieSQLiteOpenHelperCallbacks {
     public void onUpgrade(final Context context, final SQLiteDatabase db, final int oldVersion, final int newVersion) {
         if (BuildConfig.DEBUG) Log.d(TAG, "Upgrading database from version " + oldVersion + " to " + newVersion);
         // Insert your upgrading code here.
+        if (oldVersion < 2) {
+            // Version 2 indexes the foreign keys and the sort columns.
+            db.execSQL(MovieSQLiteOpenHelper.SQL_CREATE_INDEX_MOVIE_POPULARITY);
+            db.execSQL(MovieSQLiteOpenHelper.SQL_CREATE_INDEX_MOVIE_VOTE_AVERAGE);
+            db.execSQL(MovieSQLiteOpenHelper.SQL_CREATE_INDEX_MOVIE_RELEASE_DATE);
+            db.execSQL(MovieSQLiteOpenHelper.SQL_CREATE_INDEX_REVIEW_MOVIE_ID);
+            db.execSQL(MovieSQLiteOpenHelper.SQL_CREATE_INDEX_TRAILER_MOVIE_ID);
+        }
+        if (oldVersion < 3) {
+            // Version 3 records when each movie was last fetched.
+            // Existing rows are left null, which reads as stale.
+            db.execSQL(MovieSQLiteOpenHelper.SQL_ADD_COLUMN_MOVIE_FETCHED_AT);
+        }
+        if (oldVersion < 4) {
+            // Version 4 caches the discover lists.
+            db.execSQL(MovieSQLiteOpenHelper.SQL_CREATE_TABLE_DISCOVER_PAGE);
+            db.execSQL(MovieSQLiteOpenHelper.SQL_CREATE_TABLE_DISCOVER_MOVIE);
+            db.execSQL(MovieSQLiteOpenHelper.SQL_CREATE_INDEX_DISCOVER_MOVIE_PAGE_POSITION);
+        }
     }
 }
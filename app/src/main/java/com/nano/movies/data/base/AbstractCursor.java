@@ -1,74 +1,77 @@
 package com.nano.movies.data.base;
 
 import java.util.Date;
-import java.util.HashMap;
 
 import android.database.Cursor;
 import android.database.CursorWrapper;
 
+/**
+ * Table cursors resolve their column indexes once, in their constructor,
+ * and read columns by index with primitive getters.  The by-name getters
+ * below are for the odd column that isn't part of a table model.
+ */
 public abstract class AbstractCursor extends CursorWrapper {
-    private final HashMap<String, Integer> mColumnIndexes;
 
     public AbstractCursor(Cursor cursor) {
         super(cursor);
-        mColumnIndexes = new HashMap<String, Integer>(cursor.getColumnCount() * 4 / 3, .75f);
     }
 
     public abstract long getId();
 
-    protected int getCachedColumnIndexOrThrow(String colName) {
-        Integer index = mColumnIndexes.get(colName);
-        if (index == null) {
-            index = getColumnIndexOrThrow(colName);
-            mColumnIndexes.put(colName, index);
-        }
+    /**
+     * @param index A column index resolved with {@code getColumnIndex}, -1 if missing.
+     * @return index, if the column was in the projection.
+     */
+    protected int checkColumnIndex(int index, String colName) {
+        if (index < 0)
+            throw new IllegalArgumentException("column '" + colName + "' does not exist");
         return index;
     }
 
     public String getStringOrNull(String colName) {
-        int index = getCachedColumnIndexOrThrow(colName);
+        int index = getColumnIndexOrThrow(colName);
         if (isNull(index)) return null;
         return getString(index);
     }
 
     public Integer getIntegerOrNull(String colName) {
-        int index = getCachedColumnIndexOrThrow(colName);
+        int index = getColumnIndexOrThrow(colName);
         if (isNull(index)) return null;
         return getInt(index);
     }
 
     public Long getLongOrNull(String colName) {
-        int index = getCachedColumnIndexOrThrow(colName);
+        int index = getColumnIndexOrThrow(colName);
         if (isNull(index)) return null;
         return getLong(index);
     }
 
     public Float getFloatOrNull(String colName) {
-        int index = getCachedColumnIndexOrThrow(colName);
+        int index = getColumnIndexOrThrow(colName);
         if (isNull(index)) return null;
         return getFloat(index);
     }
 
     public Double getDoubleOrNull(String colName) {
-        int index = getCachedColumnIndexOrThrow(colName);
+        int index = getColumnIndexOrThrow(colName);
         if (isNull(index)) return null;
         return getDouble(index);
     }
 
     public Boolean getBooleanOrNull(String colName) {
-        int index = getCachedColumnIndexOrThrow(colName);
+        int index = getColumnIndexOrThrow(colName);
         if (isNull(index)) return null;
         return getInt(index) != 0;
     }
 
     public Date getDateOrNull(String colName) {
-        int index = getCachedColumnIndexOrThrow(colName);
+        int index = getColumnIndexOrThrow(colName);
         if (isNull(index)) return null;
         return new Date(getLong(index));
     }
 
     public byte[] getBlobOrNull(String colName) {
-        int index = getCachedColumnIndexOrThrow(colName);
+        int index = getColumnIndexOrThrow(colName);
         if (isNull(index)) return null;
         return getBlob(index);
     }
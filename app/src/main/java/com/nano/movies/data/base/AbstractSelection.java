@@ -41,6 +41,7 @@ public abstract class AbstractSelection<T extends AbstractSelection<?>> {
     String mGroupBy;
     String mHaving;
     Integer mLimit;
+    boolean mExplain;
 
     protected void addEquals(String column, Object[] value) {
         mSelection.append(column);
@@ -292,6 +293,7 @@ public abstract class AbstractSelection<T extends AbstractSelection<?>> {
         if (mGroupBy != null) uri = BaseContentProvider.groupBy(uri, mGroupBy);
         if (mHaving != null) uri = BaseContentProvider.having(uri, mHaving);
         if (mLimit != null) uri = BaseContentProvider.limit(uri, String.valueOf(mLimit));
+        if (mExplain) uri = BaseContentProvider.explain(uri);
         return uri;
     }
 
@@ -341,6 +343,16 @@ public abstract class AbstractSelection<T extends AbstractSelection<?>> {
         return (T) this;
     }
 
+    /**
+     * Have the provider log this query's plan, in debug builds only.
+     * See {@link BaseContentProvider#explain(Uri)}.
+     */
+    @SuppressWarnings("unchecked")
+    public T explain() {
+        mExplain = true;
+        return (T) this;
+    }
+
     @SuppressWarnings("unchecked")
     public T orderBy(String order, boolean desc) {
         if (mOrderBy.length() > 0) mOrderBy.append(COMMA);
@@ -2,7 +2,6 @@ package com.nano.movies.data.base;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashSet;
 
 import android.content.ContentProvider;
 import android.content.ContentProviderOperation;
@@ -12,8 +11,10 @@ import android.content.OperationApplicationException;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteQueryBuilder;
 import android.net.Uri;
 import android.provider.BaseColumns;
+import android.text.TextUtils;
 import android.util.Log;
 
 public abstract class BaseContentProvider extends ContentProvider {
@@ -21,6 +22,8 @@ public abstract class BaseContentProvider extends ContentProvider {
     public static final String QUERY_GROUP_BY = "QUERY_GROUP_BY";
     public static final String QUERY_HAVING = "QUERY_HAVING";
     public static final String QUERY_LIMIT = "QUERY_LIMIT";
+    public static final String QUERY_UPSERT = "QUERY_UPSERT";
+    public static final String QUERY_EXPLAIN = "QUERY_EXPLAIN";
 
     public static class QueryParams {
         public String table;
@@ -37,6 +40,7 @@ public abstract class BaseContentProvider extends ContentProvider {
     protected abstract SQLiteOpenHelper createSqLiteOpenHelper();
 
     protected SQLiteOpenHelper mSqLiteOpenHelper;
+    protected NotificationCoalescer mNotificationCoalescer;
 
     @Override
     public final boolean onCreate() {
@@ -57,6 +61,7 @@ public abstract class BaseContentProvider extends ContentProvider {
             }
         }
         mSqLiteOpenHelper = createSqLiteOpenHelper();
+        mNotificationCoalescer = new NotificationCoalescer(getContext().getContentResolver());
         return false;
     }
 
@@ -64,20 +69,94 @@ public abstract class BaseContentProvider extends ContentProvider {
     @Override
     public Uri insert(Uri uri, ContentValues values) {
         String table = uri.getLastPathSegment();
+        String upsert = uri.getQueryParameter(QUERY_UPSERT);
+        if (upsert != null) {
+            return upsert(uri, table, upsert.split(","), values);
+        }
         long rowId = mSqLiteOpenHelper.getWritableDatabase().insertOrThrow(table, null, values);
         if (rowId == -1) return null;
-        String notify;
-        if (((notify = uri.getQueryParameter(QUERY_NOTIFY)) == null || "true".equals(notify))) {
-            getContext().getContentResolver().notifyChange(uri, null);
+        mNotificationCoalescer.onChange(uri, table, rowId, isNotify(uri));
+        return uri.buildUpon().appendEncodedPath(String.valueOf(rowId)).build();
+    }
+
+    /**
+     * Insert the row, or if a row with the same key columns already exists,
+     * update just the columns that changed, in place.  The row keeps its _id,
+     * so rows that reference it (and ON DELETE CASCADE) are left alone,
+     * unlike ON CONFLICT REPLACE which deletes the old row first.
+     * <p/>
+     * Either way the returned uri ends in the row's _id, so batch
+     * back references work the same as for a plain insert.
+     * Observers are only notified if something was written.
+     */
+    private Uri upsert(Uri uri, String table, String[] keyColumns, ContentValues values) {
+        StringBuilder keySelection = new StringBuilder();
+        String[] keyArgs = new String[keyColumns.length];
+        for (int i = 0; i < keyColumns.length; i++) {
+            Object key = values.get(keyColumns[i]);
+            if (key == null) throw new IllegalArgumentException("Upsert key " + keyColumns[i] + " is missing");
+            if (i > 0) keySelection.append(" AND ");
+            keySelection.append(keyColumns[i]).append("=?");
+            keyArgs[i] = sqlValueOf(key);
         }
+
+        SQLiteDatabase db = mSqLiteOpenHelper.getWritableDatabase();
+        long rowId;
+        boolean isChanged;
+        db.beginTransaction();
+        try {
+            Cursor existing = db.query(table, new String[] {BaseColumns._ID}, keySelection.toString(), keyArgs, null, null, null, "1");
+            try {
+                rowId = existing.moveToFirst() ? existing.getLong(0) : -1;
+            } finally {
+                existing.close();
+            }
+            if (rowId == -1) {
+                rowId = db.insertOrThrow(table, null, values);
+                isChanged = true;
+            } else {
+                // Only rewrite the row if at least one column is different.
+                // IS NOT treats NULLs as equal to each other.
+                StringBuilder selection = new StringBuilder(BaseColumns._ID + "=? AND (0");
+                ArrayList<String> args = new ArrayList<String>(values.size() + 1);
+                args.add(String.valueOf(rowId));
+                for (String column : values.keySet()) {
+                    Object value = values.get(column);
+                    selection.append(" OR ").append(column);
+                    if (value == null) {
+                        selection.append(" IS NOT NULL");
+                    } else if (value instanceof byte[]) {
+                        selection.append(" IS NOT NULL OR 1");
+                    } else {
+                        selection.append(" IS NOT ?");
+                        args.add(sqlValueOf(value));
+                    }
+                }
+                selection.append(")");
+                isChanged = db.update(table, values, selection.toString(), args.toArray(new String[args.size()])) != 0;
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        if (isChanged) mNotificationCoalescer.onChange(uri, table, rowId, isNotify(uri));
         return uri.buildUpon().appendEncodedPath(String.valueOf(rowId)).build();
     }
 
+    /**
+     * How SQLite sees a bound value, eg., booleans are stored as 1 and 0.
+     */
+    private static String sqlValueOf(Object value) {
+        if (value instanceof Boolean) return ((Boolean) value) ? "1" : "0";
+        return value.toString();
+    }
+
     @Override
     public int bulkInsert(Uri uri, ContentValues[] values) {
         String table = uri.getLastPathSegment();
         SQLiteDatabase db = mSqLiteOpenHelper.getWritableDatabase();
         int res = 0;
+        ArrayList<Long> rowIds = new ArrayList<Long>(values.length);
         db.beginTransaction();
         try {
             for (ContentValues v : values) {
@@ -85,17 +164,17 @@ public abstract class BaseContentProvider extends ContentProvider {
                 db.yieldIfContendedSafely();
                 if (id != -1) {
                     res++;
+                    rowIds.add(id);
                 }
             }
             db.setTransactionSuccessful();
         } finally {
             db.endTransaction();
         }
-        String notify;
-        if (res != 0 && ((notify = uri.getQueryParameter(QUERY_NOTIFY)) == null || "true".equals(notify))) {
-            getContext().getContentResolver().notifyChange(uri, null);
+        boolean notify = isNotify(uri);
+        for (Long rowId : rowIds) {
+            mNotificationCoalescer.onChange(uri, table, rowId, notify);
         }
-
         return res;
     }
 
@@ -103,10 +182,7 @@ public abstract class BaseContentProvider extends ContentProvider {
     public int update(Uri uri, ContentValues values, String selection, String[] selectionArgs) {
         QueryParams queryParams = getQueryParams(uri, selection, null);
         int res = mSqLiteOpenHelper.getWritableDatabase().update(queryParams.table, values, queryParams.selection, selectionArgs);
-        String notify;
-        if (res != 0 && ((notify = uri.getQueryParameter(QUERY_NOTIFY)) == null || "true".equals(notify))) {
-            getContext().getContentResolver().notifyChange(uri, null);
-        }
+        if (res != 0) mNotificationCoalescer.onChange(uri, queryParams.table, NotificationCoalescer.UPDATED_ROWS, isNotify(uri));
         return res;
     }
 
@@ -114,10 +190,7 @@ public abstract class BaseContentProvider extends ContentProvider {
     public int delete(Uri uri, String selection, String[] selectionArgs) {
         QueryParams queryParams = getQueryParams(uri, selection, null);
         int res = mSqLiteOpenHelper.getWritableDatabase().delete(queryParams.table, queryParams.selection, selectionArgs);
-        String notify;
-        if (res != 0 && ((notify = uri.getQueryParameter(QUERY_NOTIFY)) == null || "true".equals(notify))) {
-            getContext().getContentResolver().notifyChange(uri, null);
-        }
+        if (res != 0) mNotificationCoalescer.onChange(uri, queryParams.table, NotificationCoalescer.UNKNOWN_ROW, isNotify(uri));
         return res;
     }
 
@@ -128,12 +201,43 @@ public abstract class BaseContentProvider extends ContentProvider {
         String limit = uri.getQueryParameter(QUERY_LIMIT);
         QueryParams queryParams = getQueryParams(uri, selection, projection);
         projection = ensureIdIsFullyQualified(projection, queryParams.table, queryParams.idColumn);
+        String orderBy = sortOrder == null ? queryParams.orderBy : sortOrder;
+        if (hasDebug() && "true".equals(uri.getQueryParameter(QUERY_EXPLAIN))) {
+            explainQueryPlan(SQLiteQueryBuilder.buildQueryString(false, queryParams.tablesWithJoins, projection,
+                    queryParams.selection, groupBy, having, orderBy, limit), selectionArgs);
+        }
         Cursor res = mSqLiteOpenHelper.getReadableDatabase().query(queryParams.tablesWithJoins, projection, queryParams.selection, selectionArgs, groupBy,
-                having, sortOrder == null ? queryParams.orderBy : sortOrder, limit);
+                having, orderBy, limit);
         res.setNotificationUri(getContext().getContentResolver(), uri);
         return res;
     }
 
+    /**
+     * Debug builds only, and only for queries made through an
+     * {@link #explain(Uri)} uri, since it's an extra query on the
+     * caller's thread and some full scans (eg., all the favorites)
+     * are meant to be.  Runs EXPLAIN QUERY PLAN on the query and warns about
+     * any step that scans a whole table without an index, or has to sort
+     * the results in a temporary b-tree.
+     */
+    private void explainQueryPlan(String sql, String[] selectionArgs) {
+        Cursor plan = null;
+        try {
+            plan = mSqLiteOpenHelper.getReadableDatabase().rawQuery("EXPLAIN QUERY PLAN " + sql, selectionArgs);
+            int detailColumn = plan.getColumnIndexOrThrow("detail");
+            while (plan.moveToNext()) {
+                String detail = plan.getString(detailColumn);
+                if ((detail.startsWith("SCAN") && !detail.contains("INDEX")) || detail.contains("TEMP B-TREE")) {
+                    Log.w(getClass().getSimpleName(), "Query plan: " + detail + " for " + sql);
+                }
+            }
+        } catch (Throwable t) {
+            Log.w(getClass().getSimpleName(), "Could not explain query " + sql, t);
+        } finally {
+            if (plan != null) plan.close();
+        }
+    }
+
     private String[] ensureIdIsFullyQualified(String[] projection, String tableName, String idColumn) {
         if (projection == null) return null;
         String[] res = new String[projection.length];
@@ -149,15 +253,15 @@ public abstract class BaseContentProvider extends ContentProvider {
 
     @Override
     public ContentProviderResult[] applyBatch(ArrayList<ContentProviderOperation> operations) throws OperationApplicationException {
-        HashSet<Uri> urisToNotify = new HashSet<Uri>(operations.size());
-        for (ContentProviderOperation operation : operations) {
-            urisToNotify.add(operation.getUri());
-        }
+        // Notify each changed table once for the whole batch, even if the
+        // individual operations asked not to be notified.
         SQLiteDatabase db = mSqLiteOpenHelper.getWritableDatabase();
+        int numOperations = operations.size();
+        ContentProviderResult[] results = new ContentProviderResult[numOperations];
+        boolean isCommitted = false;
+        mNotificationCoalescer.beginBatch();
         db.beginTransaction();
         try {
-            int numOperations = operations.size();
-            ContentProviderResult[] results = new ContentProviderResult[numOperations];
             int i = 0;
             for (ContentProviderOperation operation : operations) {
                 results[i] = operation.apply(this, results, i);
@@ -167,16 +271,28 @@ public abstract class BaseContentProvider extends ContentProvider {
                 i++;
             }
             db.setTransactionSuccessful();
-            for (Uri uri : urisToNotify) {
-                getContext().getContentResolver().notifyChange(uri, null);
-            }
-            return results;
+            isCommitted = true;
         } finally {
             db.endTransaction();
+            // Only after the transaction commits, so observers re-query committed data.
+            mNotificationCoalescer.endBatch(isCommitted);
         }
+        return results;
     }
 
 
+    private static boolean isNotify(Uri uri) {
+        String notify = uri.getQueryParameter(QUERY_NOTIFY);
+        return notify == null || "true".equals(notify);
+    }
+
+    /**
+     * Log the query plan of queries made through this uri, in debug builds.
+     */
+    public static Uri explain(Uri uri) {
+        return uri.buildUpon().appendQueryParameter(QUERY_EXPLAIN, "true").build();
+    }
+
     public static Uri notify(Uri uri, boolean notify) {
         return uri.buildUpon().appendQueryParameter(QUERY_NOTIFY, String.valueOf(notify)).build();
     }
@@ -192,4 +308,12 @@ public abstract class BaseContentProvider extends ContentProvider {
     public static Uri limit(Uri uri, String limit) {
         return uri.buildUpon().appendQueryParameter(QUERY_LIMIT, limit).build();
     }
+
+    /**
+     * Insert through this uri to update the row with the same
+     * keyColumns instead, if there is one.
+     */
+    public static Uri upsert(Uri uri, String... keyColumns) {
+        return uri.buildUpon().appendQueryParameter(QUERY_UPSERT, TextUtils.join(",", keyColumns)).build();
+    }
 }
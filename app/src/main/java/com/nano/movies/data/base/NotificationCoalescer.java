@@ -0,0 +1,165 @@
+package com.nano.movies.data.base;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Gathers up the changes a BaseContentProvider makes and sends one
+ * notifyChange per uri, instead of one per row.
+ * <p/>
+ * Changes made inside applyBatch are held until the transaction commits,
+ * then sent all at once (or dropped, if it rolled back).  Changes made one
+ * at a time are held for DEBOUNCE_MILLIS after the first one, so a burst
+ * of single inserts, updates and deletes still restarts a CursorLoader once.
+ * <p/>
+ * notifyChange can't carry anything but a uri, so which rows changed is
+ * handed to ChangeListeners in this process instead.
+ */
+public class NotificationCoalescer {
+    public interface ChangeListener {
+        /**
+         * Called on the main thread.
+         *
+         * @param changedRowIds Table name to the _ids of the rows inserted or upserted there.
+         *                      The set is empty if rows were only updated by selection
+         *                      (none were added or removed, but which changed isn't known),
+         *                      and null if rows may have been deleted.
+         */
+        void onTablesChanged(Map<String, Set<Long>> changedRowIds);
+    }
+
+    // Rows were deleted, or anything could have happened
+    public static final long UNKNOWN_ROW = -1;
+    // Rows were updated by selection, none were added or removed
+    public static final long UPDATED_ROWS = -2;
+
+    static final long DEBOUNCE_MILLIS = 100;
+
+    private static final CopyOnWriteArrayList<ChangeListener> sListeners = new CopyOnWriteArrayList<ChangeListener>();
+
+    private final ContentResolver mContentResolver;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    // Changes of the applyBatch running on this thread, if any
+    private final ThreadLocal<Changes> mBatch = new ThreadLocal<Changes>();
+    // Single changes waiting for mFlush, guarded by this
+    private Changes mPending;
+
+    private final Runnable mFlush = new Runnable() {
+        @Override
+        public void run() {
+            Changes pending;
+            synchronized (NotificationCoalescer.this) {
+                pending = mPending;
+                mPending = null;
+            }
+            if (pending != null) send(pending);
+        }
+    };
+
+    public NotificationCoalescer(ContentResolver contentResolver) {
+        mContentResolver = contentResolver;
+    }
+
+    public static void addListener(ChangeListener listener) {
+        sListeners.addIfAbsent(listener);
+    }
+
+    public static void removeListener(ChangeListener listener) {
+        sListeners.remove(listener);
+    }
+
+    /**
+     * Hold this thread's changes until {@link #endBatch(boolean)}.
+     */
+    public void beginBatch() {
+        mBatch.set(new Changes());
+    }
+
+    /**
+     * Call after the batch's transaction has ended.
+     *
+     * @param isCommitted False if it rolled back, in which case nothing changed.
+     */
+    public void endBatch(boolean isCommitted) {
+        Changes batch = mBatch.get();
+        mBatch.remove();
+        if (isCommitted && batch != null && !batch.isEmpty()) send(batch);
+    }
+
+    /**
+     * Record a change.
+     *
+     * @param uri    The uri the change came in on.  Its query is dropped.
+     * @param table  The table that changed.
+     * @param rowId  The _id of the row that changed, or UPDATED_ROWS or UNKNOWN_ROW.
+     * @param notify False if the caller asked not to be notified.  Changes
+     *               inside a batch are always sent, once, when it commits.
+     */
+    public void onChange(Uri uri, String table, long rowId, boolean notify) {
+        Changes batch = mBatch.get();
+        if (batch != null) {
+            batch.add(uri, table, rowId);
+            return;
+        }
+        if (!notify) return;
+        synchronized (this) {
+            if (mPending == null) {
+                mPending = new Changes();
+                mMainHandler.postDelayed(mFlush, DEBOUNCE_MILLIS);
+            }
+            mPending.add(uri, table, rowId);
+        }
+    }
+
+    private void send(Changes changes) {
+        for (Uri uri : changes.mUris) {
+            mContentResolver.notifyChange(uri, null);
+        }
+        if (sListeners.isEmpty()) return;
+        final Map<String, Set<Long>> rowIds = Collections.unmodifiableMap(changes.mRowIds);
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                for (ChangeListener listener : sListeners) {
+                    listener.onTablesChanged(rowIds);
+                }
+            }
+        });
+    }
+
+    private static class Changes {
+        final Set<Uri> mUris = new LinkedHashSet<Uri>();
+        final Map<String, Set<Long>> mRowIds = new LinkedHashMap<String, Set<Long>>();
+
+        void add(Uri uri, String table, long rowId) {
+            mUris.add(uri.buildUpon().clearQuery().build());
+            boolean isKnown = mRowIds.containsKey(table);
+            Set<Long> rowIds = mRowIds.get(table);
+            if (rowId == UNKNOWN_ROW) {
+                mRowIds.put(table, null);
+            } else if (rowId == UPDATED_ROWS) {
+                if (!isKnown) mRowIds.put(table, new HashSet<Long>());
+            } else if (!isKnown) {
+                rowIds = new HashSet<Long>();
+                rowIds.add(rowId);
+                mRowIds.put(table, rowIds);
+            } else if (rowIds != null) {
+                rowIds.add(rowId);
+            }
+        }
+
+        boolean isEmpty() {
+            return mUris.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.nano.movies.data.discovermovie;
+
+import android.net.Uri;
+import android.provider.BaseColumns;
+
+import com.nano.movies.data.MovieProvider;
+
+/**
+ * Movies on each cached discover page, in the order tmdb.org listed them.
+ */
+public class DiscoverMovieColumns implements BaseColumns {
+    public static final String TABLE_NAME = "discover_movie";
+    public static final Uri CONTENT_URI = Uri.parse(MovieProvider.CONTENT_URI_BASE + "/" + TABLE_NAME);
+
+    /**
+     * Primary key.
+     */
+    public static final String _ID = BaseColumns._ID;
+
+    /**
+     * Id of the page in the discover_page table.
+     */
+    public static final String DISCOVER_PAGE_ID = "discover_page_id";
+
+    /**
+     * Position on the page, starting at 0.
+     */
+    public static final String POSITION = "position";
+
+    /**
+     * Movie's unique tmdb.org id, used to identify the movie in api calls.
+     */
+    public static final String TMDB_ID = "tmdb_id";
+
+    /**
+     * Path to movie's image file, relative to http://image.tmdb.org/t/p/<imageSize>.
+     */
+    public static final String POSTER_PATH = "poster_path";
+
+    /**
+     * Movie's title.
+     */
+    public static final String TITLE = "title";
+
+
+    public static final String DEFAULT_ORDER = TABLE_NAME + "." +_ID;
+
+    // @formatter:off
+    public static final String[] ALL_COLUMNS = new String[] {
+            _ID,
+            DISCOVER_PAGE_ID,
+            POSITION,
+            TMDB_ID,
+            POSTER_PATH,
+            TITLE
+    };
+    // @formatter:on
+
+    public static boolean hasColumns(String[] projection) {
+        if (projection == null) return true;
+        for (String c : projection) {
+            if (c.equals(DISCOVER_PAGE_ID) || c.contains("." + DISCOVER_PAGE_ID)) return true;
+            if (c.equals(POSITION) || c.contains("." + POSITION)) return true;
+            if (c.equals(TMDB_ID) || c.contains("." + TMDB_ID)) return true;
+            if (c.equals(POSTER_PATH) || c.contains("." + POSTER_PATH)) return true;
+            if (c.equals(TITLE) || c.contains("." + TITLE)) return true;
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.nano.movies.data.discovermovie;
+
+import android.content.Context;
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.nano.movies.data.base.AbstractContentValues;
+
+/**
+ * Content values wrapper for the {@code discover_movie} table.
+ */
+public class DiscoverMovieContentValues extends AbstractContentValues {
+    @Override
+    public Uri uri() {
+        return DiscoverMovieColumns.CONTENT_URI;
+    }
+
+    /**
+     * Update row(s) using the values stored by this object and the given selection.
+     *
+     * @param contentResolver The content resolver to use.
+     * @param where The selection to use (can be {@code null}).
+     */
+    public int update(ContentResolver contentResolver, @Nullable DiscoverMovieSelection where) {
+        return contentResolver.update(uri(), values(), where == null ? null : where.sel(), where == null ? null : where.args());
+    }
+
+    /**
+     * Update row(s) using the values stored by this object and the given selection.
+     *
+     * @param contentResolver The content resolver to use.
+     * @param where The selection to use (can be {@code null}).
+     */
+    public int update(Context context, @Nullable DiscoverMovieSelection where) {
+        return context.getContentResolver().update(uri(), values(), where == null ? null : where.sel(), where == null ? null : where.args());
+    }
+
+    /**
+     * Id of the page in the discover_page table.
+     */
+    public DiscoverMovieContentValues putDiscoverPageId(long value) {
+        mContentValues.put(DiscoverMovieColumns.DISCOVER_PAGE_ID, value);
+        return this;
+    }
+
+
+    /**
+     * Position on the page, starting at 0.
+     */
+    public DiscoverMovieContentValues putPosition(int value) {
+        mContentValues.put(DiscoverMovieColumns.POSITION, value);
+        return this;
+    }
+
+
+    /**
+     * Movie's unique tmdb.org id, used to identify the movie in api calls.
+     */
+    public DiscoverMovieContentValues putTmdbId(int value) {
+        mContentValues.put(DiscoverMovieColumns.TMDB_ID, value);
+        return this;
+    }
+
+
+    /**
+     * Path to movie's image file, relative to http://image.tmdb.org/t/p/<imageSize>.
+     */
+    public DiscoverMovieContentValues putPosterPath(@Nullable String value) {
+        mContentValues.put(DiscoverMovieColumns.POSTER_PATH, value);
+        return this;
+    }
+
+    public DiscoverMovieContentValues putPosterPathNull() {
+        mContentValues.putNull(DiscoverMovieColumns.POSTER_PATH);
+        return this;
+    }
+
+    /**
+     * Movie's title.
+     */
+    public DiscoverMovieContentValues putTitle(@Nullable String value) {
+        mContentValues.put(DiscoverMovieColumns.TITLE, value);
+        return this;
+    }
+
+    public DiscoverMovieContentValues putTitleNull() {
+        mContentValues.putNull(DiscoverMovieColumns.TITLE);
+        return this;
+    }
+}
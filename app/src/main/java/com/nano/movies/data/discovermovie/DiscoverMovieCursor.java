@@ -0,0 +1,94 @@
+package com.nano.movies.data.discovermovie;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.nano.movies.data.base.AbstractCursor;
+
+/**
+ * Cursor wrapper for the {@code discover_movie} table.
+ */
+public class DiscoverMovieCursor extends AbstractCursor implements DiscoverMovieModel {
+    // Column indexes, resolved once. -1 if the column isn't in the projection.
+    private final int mIdIndex;
+    private final int mDiscoverPageIdIndex;
+    private final int mPositionIndex;
+    private final int mTmdbIdIndex;
+    private final int mPosterPathIndex;
+    private final int mTitleIndex;
+
+    public DiscoverMovieCursor(Cursor cursor) {
+        super(cursor);
+        mIdIndex = cursor.getColumnIndex(DiscoverMovieColumns._ID);
+        mDiscoverPageIdIndex = cursor.getColumnIndex(DiscoverMovieColumns.DISCOVER_PAGE_ID);
+        mPositionIndex = cursor.getColumnIndex(DiscoverMovieColumns.POSITION);
+        mTmdbIdIndex = cursor.getColumnIndex(DiscoverMovieColumns.TMDB_ID);
+        mPosterPathIndex = cursor.getColumnIndex(DiscoverMovieColumns.POSTER_PATH);
+        mTitleIndex = cursor.getColumnIndex(DiscoverMovieColumns.TITLE);
+    }
+
+    /**
+     * Primary key.
+     */
+    public long getId() {
+        int index = checkColumnIndex(mIdIndex, DiscoverMovieColumns._ID);
+        if (isNull(index))
+            throw new NullPointerException("The value of '_id' in the database was null, which is not allowed according to the model definition");
+        return getLong(index);
+    }
+
+    /**
+     * Id of the page in the discover_page table.
+     */
+    public long getDiscoverPageId() {
+        int index = checkColumnIndex(mDiscoverPageIdIndex, DiscoverMovieColumns.DISCOVER_PAGE_ID);
+        if (isNull(index))
+            throw new NullPointerException("The value of 'discover_page_id' in the database was null, which is not allowed according to the model definition");
+        return getLong(index);
+    }
+
+    /**
+     * Position on the page, starting at 0.
+     */
+    public int getPosition() {
+        int index = checkColumnIndex(mPositionIndex, DiscoverMovieColumns.POSITION);
+        if (isNull(index))
+            throw new NullPointerException("The value of 'position' in the database was null, which is not allowed according to the model definition");
+        return getInt(index);
+    }
+
+    /**
+     * Movie's unique tmdb.org id, used to identify the movie in api calls.
+     */
+    public int getTmdbId() {
+        int index = checkColumnIndex(mTmdbIdIndex, DiscoverMovieColumns.TMDB_ID);
+        if (isNull(index))
+            throw new NullPointerException("The value of 'tmdb_id' in the database was null, which is not allowed according to the model definition");
+        return getInt(index);
+    }
+
+    /**
+     * Path to movie's image file, relative to http://image.tmdb.org/t/p/<imageSize>.
+     * Can be {@code null}.
+     */
+    @Nullable
+    public String getPosterPath() {
+        int index = checkColumnIndex(mPosterPathIndex, DiscoverMovieColumns.POSTER_PATH);
+        if (isNull(index))
+            return null;
+        return getString(index);
+    }
+
+    /**
+     * Movie's title.
+     * Can be {@code null}.
+     */
+    @Nullable
+    public String getTitle() {
+        int index = checkColumnIndex(mTitleIndex, DiscoverMovieColumns.TITLE);
+        if (isNull(index))
+            return null;
+        return getString(index);
+    }
+}
@@ -0,0 +1,41 @@
+package com.nano.movies.data.discovermovie;
+
+import com.nano.movies.data.base.BaseModel;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Movies on each cached discover page, in the order tmdb.org listed them.
+ */
+public interface DiscoverMovieModel extends BaseModel {
+
+    /**
+     * Id of the page in the discover_page table.
+     */
+    long getDiscoverPageId();
+
+    /**
+     * Position on the page, starting at 0.
+     */
+    int getPosition();
+
+    /**
+     * Movie's unique tmdb.org id, used to identify the movie in api calls.
+     */
+    int getTmdbId();
+
+    /**
+     * Path to movie's image file, relative to http://image.tmdb.org/t/p/<imageSize>.
+     * Can be {@code null}.
+     */
+    @Nullable
+    String getPosterPath();
+
+    /**
+     * Movie's title.
+     * Can be {@code null}.
+     */
+    @Nullable
+    String getTitle();
+}
@@ -0,0 +1,278 @@
+package com.nano.movies.data.discovermovie;
+
+import android.content.Context;
+import android.content.ContentResolver;
+import android.database.Cursor;
+import android.net.Uri;
+
+import com.nano.movies.data.base.AbstractSelection;
+
+/**
+ * Selection for the {@code discover_movie} table.
+ */
+public class DiscoverMovieSelection extends AbstractSelection<DiscoverMovieSelection> {
+    @Override
+    protected Uri baseUri() {
+        return DiscoverMovieColumns.CONTENT_URI;
+    }
+
+    /**
+     * Query the given content resolver using this selection.
+     *
+     * @param contentResolver The content resolver to query.
+     * @param projection A list of which columns to return. Passing null will return all columns, which is inefficient.
+     * @return A {@code DiscoverMovieCursor} object, which is positioned before the first entry, or null.
+     */
+    public DiscoverMovieCursor query(ContentResolver contentResolver, String[] projection) {
+        Cursor cursor = contentResolver.query(uri(), projection, sel(), args(), order());
+        if (cursor == null) return null;
+        return new DiscoverMovieCursor(cursor);
+    }
+
+    /**
+     * Equivalent of calling {@code query(contentResolver, null)}.
+     */
+    public DiscoverMovieCursor query(ContentResolver contentResolver) {
+        return query(contentResolver, null);
+    }
+
+    /**
+     * Query the given content resolver using this selection.
+     *
+     * @param context The context to use for the query.
+     * @param projection A list of which columns to return. Passing null will return all columns, which is inefficient.
+     * @return A {@code DiscoverMovieCursor} object, which is positioned before the first entry, or null.
+     */
+    public DiscoverMovieCursor query(Context context, String[] projection) {
+        Cursor cursor = context.getContentResolver().query(uri(), projection, sel(), args(), order());
+        if (cursor == null) return null;
+        return new DiscoverMovieCursor(cursor);
+    }
+
+    /**
+     * Equivalent of calling {@code query(context, null)}.
+     */
+    public DiscoverMovieCursor query(Context context) {
+        return query(context, null);
+    }
+
+
+    public DiscoverMovieSelection id(long... value) {
+        addEquals("discover_movie." + DiscoverMovieColumns._ID, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverMovieSelection idNot(long... value) {
+        addNotEquals("discover_movie." + DiscoverMovieColumns._ID, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverMovieSelection orderById(boolean desc) {
+        orderBy("discover_movie." + DiscoverMovieColumns._ID, desc);
+        return this;
+    }
+
+    public DiscoverMovieSelection orderById() {
+        return orderById(false);
+    }
+
+    public DiscoverMovieSelection discoverPageId(long... value) {
+        addEquals(DiscoverMovieColumns.DISCOVER_PAGE_ID, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverMovieSelection discoverPageIdNot(long... value) {
+        addNotEquals(DiscoverMovieColumns.DISCOVER_PAGE_ID, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverMovieSelection discoverPageIdGt(long value) {
+        addGreaterThan(DiscoverMovieColumns.DISCOVER_PAGE_ID, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection discoverPageIdGtEq(long value) {
+        addGreaterThanOrEquals(DiscoverMovieColumns.DISCOVER_PAGE_ID, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection discoverPageIdLt(long value) {
+        addLessThan(DiscoverMovieColumns.DISCOVER_PAGE_ID, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection discoverPageIdLtEq(long value) {
+        addLessThanOrEquals(DiscoverMovieColumns.DISCOVER_PAGE_ID, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection orderByDiscoverPageId(boolean desc) {
+        orderBy(DiscoverMovieColumns.DISCOVER_PAGE_ID, desc);
+        return this;
+    }
+
+    public DiscoverMovieSelection orderByDiscoverPageId() {
+        orderBy(DiscoverMovieColumns.DISCOVER_PAGE_ID, false);
+        return this;
+    }
+
+    public DiscoverMovieSelection position(int... value) {
+        addEquals(DiscoverMovieColumns.POSITION, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverMovieSelection positionNot(int... value) {
+        addNotEquals(DiscoverMovieColumns.POSITION, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverMovieSelection positionGt(int value) {
+        addGreaterThan(DiscoverMovieColumns.POSITION, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection positionGtEq(int value) {
+        addGreaterThanOrEquals(DiscoverMovieColumns.POSITION, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection positionLt(int value) {
+        addLessThan(DiscoverMovieColumns.POSITION, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection positionLtEq(int value) {
+        addLessThanOrEquals(DiscoverMovieColumns.POSITION, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection orderByPosition(boolean desc) {
+        orderBy(DiscoverMovieColumns.POSITION, desc);
+        return this;
+    }
+
+    public DiscoverMovieSelection orderByPosition() {
+        orderBy(DiscoverMovieColumns.POSITION, false);
+        return this;
+    }
+
+    public DiscoverMovieSelection tmdbId(int... value) {
+        addEquals(DiscoverMovieColumns.TMDB_ID, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverMovieSelection tmdbIdNot(int... value) {
+        addNotEquals(DiscoverMovieColumns.TMDB_ID, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverMovieSelection tmdbIdGt(int value) {
+        addGreaterThan(DiscoverMovieColumns.TMDB_ID, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection tmdbIdGtEq(int value) {
+        addGreaterThanOrEquals(DiscoverMovieColumns.TMDB_ID, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection tmdbIdLt(int value) {
+        addLessThan(DiscoverMovieColumns.TMDB_ID, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection tmdbIdLtEq(int value) {
+        addLessThanOrEquals(DiscoverMovieColumns.TMDB_ID, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection orderByTmdbId(boolean desc) {
+        orderBy(DiscoverMovieColumns.TMDB_ID, desc);
+        return this;
+    }
+
+    public DiscoverMovieSelection orderByTmdbId() {
+        orderBy(DiscoverMovieColumns.TMDB_ID, false);
+        return this;
+    }
+
+    public DiscoverMovieSelection posterPath(String... value) {
+        addEquals(DiscoverMovieColumns.POSTER_PATH, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection posterPathNot(String... value) {
+        addNotEquals(DiscoverMovieColumns.POSTER_PATH, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection posterPathLike(String... value) {
+        addLike(DiscoverMovieColumns.POSTER_PATH, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection posterPathContains(String... value) {
+        addContains(DiscoverMovieColumns.POSTER_PATH, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection posterPathStartsWith(String... value) {
+        addStartsWith(DiscoverMovieColumns.POSTER_PATH, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection posterPathEndsWith(String... value) {
+        addEndsWith(DiscoverMovieColumns.POSTER_PATH, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection orderByPosterPath(boolean desc) {
+        orderBy(DiscoverMovieColumns.POSTER_PATH, desc);
+        return this;
+    }
+
+    public DiscoverMovieSelection orderByPosterPath() {
+        orderBy(DiscoverMovieColumns.POSTER_PATH, false);
+        return this;
+    }
+
+    public DiscoverMovieSelection title(String... value) {
+        addEquals(DiscoverMovieColumns.TITLE, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection titleNot(String... value) {
+        addNotEquals(DiscoverMovieColumns.TITLE, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection titleLike(String... value) {
+        addLike(DiscoverMovieColumns.TITLE, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection titleContains(String... value) {
+        addContains(DiscoverMovieColumns.TITLE, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection titleStartsWith(String... value) {
+        addStartsWith(DiscoverMovieColumns.TITLE, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection titleEndsWith(String... value) {
+        addEndsWith(DiscoverMovieColumns.TITLE, value);
+        return this;
+    }
+
+    public DiscoverMovieSelection orderByTitle(boolean desc) {
+        orderBy(DiscoverMovieColumns.TITLE, desc);
+        return this;
+    }
+
+    public DiscoverMovieSelection orderByTitle() {
+        orderBy(DiscoverMovieColumns.TITLE, false);
+        return this;
+    }
+}
@@ -0,0 +1,64 @@
+package com.nano.movies.data.discoverpage;
+
+import android.net.Uri;
+import android.provider.BaseColumns;
+
+import com.nano.movies.data.MovieProvider;
+
+/**
+ * Discover result pages cached for the Most Popular and Highest Rated grids, one row per sort order and page.
+ */
+public class DiscoverPageColumns implements BaseColumns {
+    public static final String TABLE_NAME = "discover_page";
+    public static final Uri CONTENT_URI = Uri.parse(MovieProvider.CONTENT_URI_BASE + "/" + TABLE_NAME);
+
+    /**
+     * Primary key.
+     */
+    public static final String _ID = BaseColumns._ID;
+
+    /**
+     * Tmdb sort order the page belongs to, eg., popularity.desc.
+     */
+    public static final String SORT_BY = "sort_by";
+
+    /**
+     * Page number, starting at 1.
+     */
+    public static final String PAGE = "page";
+
+    /**
+     * Total pages in the list, as of when this page was fetched.
+     */
+    public static final String TOTAL_PAGES = "total_pages";
+
+    /**
+     * When the page was fetched, in milliseconds since the epoch.
+     */
+    public static final String FETCHED_AT = "fetched_at";
+
+
+    public static final String DEFAULT_ORDER = TABLE_NAME + "." +_ID;
+
+    // @formatter:off
+    public static final String[] ALL_COLUMNS = new String[] {
+            _ID,
+            SORT_BY,
+            PAGE,
+            TOTAL_PAGES,
+            FETCHED_AT
+    };
+    // @formatter:on
+
+    public static boolean hasColumns(String[] projection) {
+        if (projection == null) return true;
+        for (String c : projection) {
+            if (c.equals(SORT_BY) || c.contains("." + SORT_BY)) return true;
+            if (c.equals(PAGE) || c.contains("." + PAGE)) return true;
+            if (c.equals(TOTAL_PAGES) || c.contains("." + TOTAL_PAGES)) return true;
+            if (c.equals(FETCHED_AT) || c.contains("." + FETCHED_AT)) return true;
+        }
+        return false;
+    }
+
+}
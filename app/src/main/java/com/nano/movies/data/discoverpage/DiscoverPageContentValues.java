@@ -0,0 +1,76 @@
+package com.nano.movies.data.discoverpage;
+
+import android.content.Context;
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.nano.movies.data.base.AbstractContentValues;
+
+/**
+ * Content values wrapper for the {@code discover_page} table.
+ */
+public class DiscoverPageContentValues extends AbstractContentValues {
+    @Override
+    public Uri uri() {
+        return DiscoverPageColumns.CONTENT_URI;
+    }
+
+    /**
+     * Update row(s) using the values stored by this object and the given selection.
+     *
+     * @param contentResolver The content resolver to use.
+     * @param where The selection to use (can be {@code null}).
+     */
+    public int update(ContentResolver contentResolver, @Nullable DiscoverPageSelection where) {
+        return contentResolver.update(uri(), values(), where == null ? null : where.sel(), where == null ? null : where.args());
+    }
+
+    /**
+     * Update row(s) using the values stored by this object and the given selection.
+     *
+     * @param contentResolver The content resolver to use.
+     * @param where The selection to use (can be {@code null}).
+     */
+    public int update(Context context, @Nullable DiscoverPageSelection where) {
+        return context.getContentResolver().update(uri(), values(), where == null ? null : where.sel(), where == null ? null : where.args());
+    }
+
+    /**
+     * Tmdb sort order the page belongs to, eg., popularity.desc.
+     */
+    public DiscoverPageContentValues putSortBy(@NonNull String value) {
+        if (value == null) throw new IllegalArgumentException("sortBy must not be null");
+        mContentValues.put(DiscoverPageColumns.SORT_BY, value);
+        return this;
+    }
+
+
+    /**
+     * Page number, starting at 1.
+     */
+    public DiscoverPageContentValues putPage(int value) {
+        mContentValues.put(DiscoverPageColumns.PAGE, value);
+        return this;
+    }
+
+
+    /**
+     * Total pages in the list, as of when this page was fetched.
+     */
+    public DiscoverPageContentValues putTotalPages(int value) {
+        mContentValues.put(DiscoverPageColumns.TOTAL_PAGES, value);
+        return this;
+    }
+
+
+    /**
+     * When the page was fetched, in milliseconds since the epoch.
+     */
+    public DiscoverPageContentValues putFetchedAt(long value) {
+        mContentValues.put(DiscoverPageColumns.FETCHED_AT, value);
+        return this;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.nano.movies.data.discoverpage;
+
+import android.database.Cursor;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.nano.movies.data.base.AbstractCursor;
+
+/**
+ * Cursor wrapper for the {@code discover_page} table.
+ */
+public class DiscoverPageCursor extends AbstractCursor implements DiscoverPageModel {
+    // Column indexes, resolved once. -1 if the column isn't in the projection.
+    private final int mIdIndex;
+    private final int mSortByIndex;
+    private final int mPageIndex;
+    private final int mTotalPagesIndex;
+    private final int mFetchedAtIndex;
+
+    public DiscoverPageCursor(Cursor cursor) {
+        super(cursor);
+        mIdIndex = cursor.getColumnIndex(DiscoverPageColumns._ID);
+        mSortByIndex = cursor.getColumnIndex(DiscoverPageColumns.SORT_BY);
+        mPageIndex = cursor.getColumnIndex(DiscoverPageColumns.PAGE);
+        mTotalPagesIndex = cursor.getColumnIndex(DiscoverPageColumns.TOTAL_PAGES);
+        mFetchedAtIndex = cursor.getColumnIndex(DiscoverPageColumns.FETCHED_AT);
+    }
+
+    /**
+     * Primary key.
+     */
+    public long getId() {
+        int index = checkColumnIndex(mIdIndex, DiscoverPageColumns._ID);
+        if (isNull(index))
+            throw new NullPointerException("The value of '_id' in the database was null, which is not allowed according to the model definition");
+        return getLong(index);
+    }
+
+    /**
+     * Tmdb sort order the page belongs to, eg., popularity.desc.
+     * Cannot be {@code null}.
+     */
+    @NonNull
+    public String getSortBy() {
+        int index = checkColumnIndex(mSortByIndex, DiscoverPageColumns.SORT_BY);
+        if (isNull(index))
+            throw new NullPointerException("The value of 'sort_by' in the database was null, which is not allowed according to the model definition");
+        return getString(index);
+    }
+
+    /**
+     * Page number, starting at 1.
+     */
+    public int getPage() {
+        int index = checkColumnIndex(mPageIndex, DiscoverPageColumns.PAGE);
+        if (isNull(index))
+            throw new NullPointerException("The value of 'page' in the database was null, which is not allowed according to the model definition");
+        return getInt(index);
+    }
+
+    /**
+     * Total pages in the list, as of when this page was fetched.
+     */
+    public int getTotalPages() {
+        int index = checkColumnIndex(mTotalPagesIndex, DiscoverPageColumns.TOTAL_PAGES);
+        if (isNull(index))
+            throw new NullPointerException("The value of 'total_pages' in the database was null, which is not allowed according to the model definition");
+        return getInt(index);
+    }
+
+    /**
+     * When the page was fetched, in milliseconds since the epoch.
+     */
+    public long getFetchedAt() {
+        int index = checkColumnIndex(mFetchedAtIndex, DiscoverPageColumns.FETCHED_AT);
+        if (isNull(index))
+            throw new NullPointerException("The value of 'fetched_at' in the database was null, which is not allowed according to the model definition");
+        return getLong(index);
+    }
+}
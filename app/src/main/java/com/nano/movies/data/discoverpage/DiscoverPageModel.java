@@ -0,0 +1,34 @@
+package com.nano.movies.data.discoverpage;
+
+import com.nano.movies.data.base.BaseModel;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Discover result pages cached for the Most Popular and Highest Rated grids, one row per sort order and page.
+ */
+public interface DiscoverPageModel extends BaseModel {
+
+    /**
+     * Tmdb sort order the page belongs to, eg., popularity.desc.
+     * Cannot be {@code null}.
+     */
+    @NonNull
+    String getSortBy();
+
+    /**
+     * Page number, starting at 1.
+     */
+    int getPage();
+
+    /**
+     * Total pages in the list, as of when this page was fetched.
+     */
+    int getTotalPages();
+
+    /**
+     * When the page was fetched, in milliseconds since the epoch.
+     */
+    long getFetchedAt();
+}
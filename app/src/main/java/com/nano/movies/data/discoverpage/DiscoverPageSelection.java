@@ -0,0 +1,238 @@
+package com.nano.movies.data.discoverpage;
+
+import android.content.Context;
+import android.content.ContentResolver;
+import android.database.Cursor;
+import android.net.Uri;
+
+import com.nano.movies.data.base.AbstractSelection;
+
+/**
+ * Selection for the {@code discover_page} table.
+ */
+public class DiscoverPageSelection extends AbstractSelection<DiscoverPageSelection> {
+    @Override
+    protected Uri baseUri() {
+        return DiscoverPageColumns.CONTENT_URI;
+    }
+
+    /**
+     * Query the given content resolver using this selection.
+     *
+     * @param contentResolver The content resolver to query.
+     * @param projection A list of which columns to return. Passing null will return all columns, which is inefficient.
+     * @return A {@code DiscoverPageCursor} object, which is positioned before the first entry, or null.
+     */
+    public DiscoverPageCursor query(ContentResolver contentResolver, String[] projection) {
+        Cursor cursor = contentResolver.query(uri(), projection, sel(), args(), order());
+        if (cursor == null) return null;
+        return new DiscoverPageCursor(cursor);
+    }
+
+    /**
+     * Equivalent of calling {@code query(contentResolver, null)}.
+     */
+    public DiscoverPageCursor query(ContentResolver contentResolver) {
+        return query(contentResolver, null);
+    }
+
+    /**
+     * Query the given content resolver using this selection.
+     *
+     * @param context The context to use for the query.
+     * @param projection A list of which columns to return. Passing null will return all columns, which is inefficient.
+     * @return A {@code DiscoverPageCursor} object, which is positioned before the first entry, or null.
+     */
+    public DiscoverPageCursor query(Context context, String[] projection) {
+        Cursor cursor = context.getContentResolver().query(uri(), projection, sel(), args(), order());
+        if (cursor == null) return null;
+        return new DiscoverPageCursor(cursor);
+    }
+
+    /**
+     * Equivalent of calling {@code query(context, null)}.
+     */
+    public DiscoverPageCursor query(Context context) {
+        return query(context, null);
+    }
+
+
+    public DiscoverPageSelection id(long... value) {
+        addEquals("discover_page." + DiscoverPageColumns._ID, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverPageSelection idNot(long... value) {
+        addNotEquals("discover_page." + DiscoverPageColumns._ID, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverPageSelection orderById(boolean desc) {
+        orderBy("discover_page." + DiscoverPageColumns._ID, desc);
+        return this;
+    }
+
+    public DiscoverPageSelection orderById() {
+        return orderById(false);
+    }
+
+    public DiscoverPageSelection sortBy(String... value) {
+        addEquals(DiscoverPageColumns.SORT_BY, value);
+        return this;
+    }
+
+    public DiscoverPageSelection sortByNot(String... value) {
+        addNotEquals(DiscoverPageColumns.SORT_BY, value);
+        return this;
+    }
+
+    public DiscoverPageSelection sortByLike(String... value) {
+        addLike(DiscoverPageColumns.SORT_BY, value);
+        return this;
+    }
+
+    public DiscoverPageSelection sortByContains(String... value) {
+        addContains(DiscoverPageColumns.SORT_BY, value);
+        return this;
+    }
+
+    public DiscoverPageSelection sortByStartsWith(String... value) {
+        addStartsWith(DiscoverPageColumns.SORT_BY, value);
+        return this;
+    }
+
+    public DiscoverPageSelection sortByEndsWith(String... value) {
+        addEndsWith(DiscoverPageColumns.SORT_BY, value);
+        return this;
+    }
+
+    public DiscoverPageSelection orderBySortBy(boolean desc) {
+        orderBy(DiscoverPageColumns.SORT_BY, desc);
+        return this;
+    }
+
+    public DiscoverPageSelection orderBySortBy() {
+        orderBy(DiscoverPageColumns.SORT_BY, false);
+        return this;
+    }
+
+    public DiscoverPageSelection page(int... value) {
+        addEquals(DiscoverPageColumns.PAGE, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverPageSelection pageNot(int... value) {
+        addNotEquals(DiscoverPageColumns.PAGE, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverPageSelection pageGt(int value) {
+        addGreaterThan(DiscoverPageColumns.PAGE, value);
+        return this;
+    }
+
+    public DiscoverPageSelection pageGtEq(int value) {
+        addGreaterThanOrEquals(DiscoverPageColumns.PAGE, value);
+        return this;
+    }
+
+    public DiscoverPageSelection pageLt(int value) {
+        addLessThan(DiscoverPageColumns.PAGE, value);
+        return this;
+    }
+
+    public DiscoverPageSelection pageLtEq(int value) {
+        addLessThanOrEquals(DiscoverPageColumns.PAGE, value);
+        return this;
+    }
+
+    public DiscoverPageSelection orderByPage(boolean desc) {
+        orderBy(DiscoverPageColumns.PAGE, desc);
+        return this;
+    }
+
+    public DiscoverPageSelection orderByPage() {
+        orderBy(DiscoverPageColumns.PAGE, false);
+        return this;
+    }
+
+    public DiscoverPageSelection totalPages(int... value) {
+        addEquals(DiscoverPageColumns.TOTAL_PAGES, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverPageSelection totalPagesNot(int... value) {
+        addNotEquals(DiscoverPageColumns.TOTAL_PAGES, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverPageSelection totalPagesGt(int value) {
+        addGreaterThan(DiscoverPageColumns.TOTAL_PAGES, value);
+        return this;
+    }
+
+    public DiscoverPageSelection totalPagesGtEq(int value) {
+        addGreaterThanOrEquals(DiscoverPageColumns.TOTAL_PAGES, value);
+        return this;
+    }
+
+    public DiscoverPageSelection totalPagesLt(int value) {
+        addLessThan(DiscoverPageColumns.TOTAL_PAGES, value);
+        return this;
+    }
+
+    public DiscoverPageSelection totalPagesLtEq(int value) {
+        addLessThanOrEquals(DiscoverPageColumns.TOTAL_PAGES, value);
+        return this;
+    }
+
+    public DiscoverPageSelection orderByTotalPages(boolean desc) {
+        orderBy(DiscoverPageColumns.TOTAL_PAGES, desc);
+        return this;
+    }
+
+    public DiscoverPageSelection orderByTotalPages() {
+        orderBy(DiscoverPageColumns.TOTAL_PAGES, false);
+        return this;
+    }
+
+    public DiscoverPageSelection fetchedAt(long... value) {
+        addEquals(DiscoverPageColumns.FETCHED_AT, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverPageSelection fetchedAtNot(long... value) {
+        addNotEquals(DiscoverPageColumns.FETCHED_AT, toObjectArray(value));
+        return this;
+    }
+
+    public DiscoverPageSelection fetchedAtGt(long value) {
+        addGreaterThan(DiscoverPageColumns.FETCHED_AT, value);
+        return this;
+    }
+
+    public DiscoverPageSelection fetchedAtGtEq(long value) {
+        addGreaterThanOrEquals(DiscoverPageColumns.FETCHED_AT, value);
+        return this;
+    }
+
+    public DiscoverPageSelection fetchedAtLt(long value) {
+        addLessThan(DiscoverPageColumns.FETCHED_AT, value);
+        return this;
+    }
+
+    public DiscoverPageSelection fetchedAtLtEq(long value) {
+        addLessThanOrEquals(DiscoverPageColumns.FETCHED_AT, value);
+        return this;
+    }
+
+    public DiscoverPageSelection orderByFetchedAt(boolean desc) {
+        orderBy(DiscoverPageColumns.FETCHED_AT, desc);
+        return this;
+    }
+
+    public DiscoverPageSelection orderByFetchedAt() {
+        orderBy(DiscoverPageColumns.FETCHED_AT, false);
+        return this;
+    }
+}
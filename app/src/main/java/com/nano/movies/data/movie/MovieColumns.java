@@ -77,6 +77,13 @@ public class MovieColumns implements BaseColumns {
      */
     public static final String VOTE_COUNT = "vote_count";
 
+    /**
+     * When the row was last written from a tmdb.org response, in
+     * milliseconds since the epoch.  {@code null} for rows written
+     * before this column existed.
+     */
+    public static final String FETCHED_AT = "fetched_at";
+
 
     public static final String DEFAULT_ORDER = TABLE_NAME + "." +_ID;
 
@@ -94,7 +101,8 @@ public class MovieColumns implements BaseColumns {
             TAGLINE,
             TITLE,
             VOTE_AVERAGE,
-            VOTE_COUNT
+            VOTE_COUNT,
+            FETCHED_AT
     };
     // @formatter:on
 
@@ -113,6 +121,7 @@ public class MovieColumns implements BaseColumns {
             if (c.equals(TITLE) || c.contains("." + TITLE)) return true;
             if (c.equals(VOTE_AVERAGE) || c.contains("." + VOTE_AVERAGE)) return true;
             if (c.equals(VOTE_COUNT) || c.contains("." + VOTE_COUNT)) return true;
+            if (c.equals(FETCHED_AT) || c.contains("." + FETCHED_AT)) return true;
         }
         return false;
     }
@@ -8,6 +8,7 @@ import android.net.Uri;
 import android.support.annotation.Nullable;
 
 import com.nano.movies.data.base.AbstractContentValues;
+import com.nano.movies.data.base.BaseContentProvider;
 
 /**
  * Content values wrapper for the {@code movie} table.
@@ -38,6 +39,32 @@ public class MovieContentValues extends AbstractContentValues {
         return context.getContentResolver().update(uri(), values(), where == null ? null : where.sel(), where == null ? null : where.args());
     }
 
+    /**
+     * Returns the {@code uri} to insert through to upsert, see {@link #upsert(ContentResolver)}.
+     */
+    public Uri upsertUri() {
+        return BaseContentProvider.upsert(uri(), MovieColumns.TMDB_ID);
+    }
+
+    /**
+     * Insert a row, or if there is already one with the same {@code tmdb_id},
+     * update only its changed columns in place, keeping its {@code _id}.
+     *
+     * @param contentResolver The content resolver to use.
+     * @return The uri of the row, ending in its {@code _id} either way.
+     */
+    public Uri upsert(ContentResolver contentResolver) {
+        return contentResolver.insert(upsertUri(), values());
+    }
+
+    /**
+     * @see #upsert(ContentResolver)
+     * @param context The context to use.
+     */
+    public Uri upsert(Context context) {
+        return context.getContentResolver().insert(upsertUri(), values());
+    }
+
     /**
      * Movie's unique tmdb.org id, used to identify the movie in api calls.
      */
@@ -186,4 +213,18 @@ public class MovieContentValues extends AbstractContentValues {
         return this;
     }
 
+    /**
+     * When the row was last written from a tmdb.org response, in
+     * milliseconds since the epoch.
+     */
+    public MovieContentValues putFetchedAt(@Nullable Long value) {
+        mContentValues.put(MovieColumns.FETCHED_AT, value);
+        return this;
+    }
+
+    public MovieContentValues putFetchedAtNull() {
+        mContentValues.putNull(MovieColumns.FETCHED_AT);
+        return this;
+    }
+
 }
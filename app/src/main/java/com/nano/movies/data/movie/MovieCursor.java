@@ -11,28 +11,58 @@ import com.nano.movies.data.base.AbstractCursor;
  * Cursor wrapper for the {@code movie} table.
  */
 public class MovieCursor extends AbstractCursor implements MovieModel {
+    // Column indexes, resolved once. -1 if the column isn't in the projection.
+    private final int mIdIndex;
+    private final int mTmdbIdIndex;
+    private final int mHomepageIndex;
+    private final int mOriginalTitleIndex;
+    private final int mOverviewIndex;
+    private final int mPopularityIndex;
+    private final int mPosterPathIndex;
+    private final int mReleaseDateIndex;
+    private final int mRuntimeIndex;
+    private final int mTaglineIndex;
+    private final int mTitleIndex;
+    private final int mVoteAverageIndex;
+    private final int mVoteCountIndex;
+    private final int mFetchedAtIndex;
+
     public MovieCursor(Cursor cursor) {
         super(cursor);
+        mIdIndex = cursor.getColumnIndex(MovieColumns._ID);
+        mTmdbIdIndex = cursor.getColumnIndex(MovieColumns.TMDB_ID);
+        mHomepageIndex = cursor.getColumnIndex(MovieColumns.HOMEPAGE);
+        mOriginalTitleIndex = cursor.getColumnIndex(MovieColumns.ORIGINAL_TITLE);
+        mOverviewIndex = cursor.getColumnIndex(MovieColumns.OVERVIEW);
+        mPopularityIndex = cursor.getColumnIndex(MovieColumns.POPULARITY);
+        mPosterPathIndex = cursor.getColumnIndex(MovieColumns.POSTER_PATH);
+        mReleaseDateIndex = cursor.getColumnIndex(MovieColumns.RELEASE_DATE);
+        mRuntimeIndex = cursor.getColumnIndex(MovieColumns.RUNTIME);
+        mTaglineIndex = cursor.getColumnIndex(MovieColumns.TAGLINE);
+        mTitleIndex = cursor.getColumnIndex(MovieColumns.TITLE);
+        mVoteAverageIndex = cursor.getColumnIndex(MovieColumns.VOTE_AVERAGE);
+        mVoteCountIndex = cursor.getColumnIndex(MovieColumns.VOTE_COUNT);
+        mFetchedAtIndex = cursor.getColumnIndex(MovieColumns.FETCHED_AT);
     }
 
     /**
      * Primary key.
      */
     public long getId() {
-        Long res = getLongOrNull(MovieColumns._ID);
-        if (res == null)
+        int index = checkColumnIndex(mIdIndex, MovieColumns._ID);
+        if (isNull(index))
             throw new NullPointerException("The value of '_id' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getLong(index);
     }
 
     /**
      * Movie's unique tmdb.org id, used to identify the movie in api calls.
      */
     public int getTmdbId() {
-        Integer res = getIntegerOrNull(MovieColumns.TMDB_ID);
-        if (res == null)
+        int index = checkColumnIndex(mTmdbIdIndex, MovieColumns.TMDB_ID);
+        if (isNull(index))
             throw new NullPointerException("The value of 'tmdb_id' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getInt(index);
     }
 
     /**
@@ -41,8 +71,10 @@ public class MovieCursor extends AbstractCursor implements MovieModel {
      */
     @Nullable
     public String getHomepage() {
-        String res = getStringOrNull(MovieColumns.HOMEPAGE);
-        return res;
+        int index = checkColumnIndex(mHomepageIndex, MovieColumns.HOMEPAGE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -51,8 +83,10 @@ public class MovieCursor extends AbstractCursor implements MovieModel {
      */
     @Nullable
     public String getOriginalTitle() {
-        String res = getStringOrNull(MovieColumns.ORIGINAL_TITLE);
-        return res;
+        int index = checkColumnIndex(mOriginalTitleIndex, MovieColumns.ORIGINAL_TITLE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -61,8 +95,10 @@ public class MovieCursor extends AbstractCursor implements MovieModel {
      */
     @Nullable
     public String getOverview() {
-        String res = getStringOrNull(MovieColumns.OVERVIEW);
-        return res;
+        int index = checkColumnIndex(mOverviewIndex, MovieColumns.OVERVIEW);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -71,8 +107,21 @@ public class MovieCursor extends AbstractCursor implements MovieModel {
      */
     @Nullable
     public Double getPopularity() {
-        Double res = getDoubleOrNull(MovieColumns.POPULARITY);
-        return res;
+        int index = checkColumnIndex(mPopularityIndex, MovieColumns.POPULARITY);
+        if (isNull(index))
+            return null;
+        return getDouble(index);
+    }
+
+    /**
+     * Same as {@link #getPopularity()}, without boxing.
+     * Returns {@code defaultValue} if the value is {@code null}.
+     */
+    public double getPopularity(double defaultValue) {
+        int index = checkColumnIndex(mPopularityIndex, MovieColumns.POPULARITY);
+        if (isNull(index))
+            return defaultValue;
+        return getDouble(index);
     }
 
     /**
@@ -81,8 +130,10 @@ public class MovieCursor extends AbstractCursor implements MovieModel {
      */
     @Nullable
     public String getPosterPath() {
-        String res = getStringOrNull(MovieColumns.POSTER_PATH);
-        return res;
+        int index = checkColumnIndex(mPosterPathIndex, MovieColumns.POSTER_PATH);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -91,8 +142,21 @@ public class MovieCursor extends AbstractCursor implements MovieModel {
      */
     @Nullable
     public Date getReleaseDate() {
-        Date res = getDateOrNull(MovieColumns.RELEASE_DATE);
-        return res;
+        int index = checkColumnIndex(mReleaseDateIndex, MovieColumns.RELEASE_DATE);
+        if (isNull(index))
+            return null;
+        return new Date(getLong(index));
+    }
+
+    /**
+     * Same as {@link #getReleaseDate()}, as epoch milliseconds, without allocating a {@code Date}.
+     * Returns {@code defaultValue} if the value is {@code null}.
+     */
+    public long getReleaseDateMillis(long defaultValue) {
+        int index = checkColumnIndex(mReleaseDateIndex, MovieColumns.RELEASE_DATE);
+        if (isNull(index))
+            return defaultValue;
+        return getLong(index);
     }
 
     /**
@@ -101,8 +165,21 @@ public class MovieCursor extends AbstractCursor implements MovieModel {
      */
     @Nullable
     public Integer getRuntime() {
-        Integer res = getIntegerOrNull(MovieColumns.RUNTIME);
-        return res;
+        int index = checkColumnIndex(mRuntimeIndex, MovieColumns.RUNTIME);
+        if (isNull(index))
+            return null;
+        return getInt(index);
+    }
+
+    /**
+     * Same as {@link #getRuntime()}, without boxing.
+     * Returns {@code defaultValue} if the value is {@code null}.
+     */
+    public int getRuntime(int defaultValue) {
+        int index = checkColumnIndex(mRuntimeIndex, MovieColumns.RUNTIME);
+        if (isNull(index))
+            return defaultValue;
+        return getInt(index);
     }
 
     /**
@@ -111,8 +188,10 @@ public class MovieCursor extends AbstractCursor implements MovieModel {
      */
     @Nullable
     public String getTagline() {
-        String res = getStringOrNull(MovieColumns.TAGLINE);
-        return res;
+        int index = checkColumnIndex(mTaglineIndex, MovieColumns.TAGLINE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -121,27 +200,53 @@ public class MovieCursor extends AbstractCursor implements MovieModel {
      */
     @Nullable
     public String getTitle() {
-        String res = getStringOrNull(MovieColumns.TITLE);
-        return res;
+        int index = checkColumnIndex(mTitleIndex, MovieColumns.TITLE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
      * Average voter rating, from 1 to 10.
      */
     public double getVoteAverage() {
-        Double res = getDoubleOrNull(MovieColumns.VOTE_AVERAGE);
-        if (res == null)
+        int index = checkColumnIndex(mVoteAverageIndex, MovieColumns.VOTE_AVERAGE);
+        if (isNull(index))
             throw new NullPointerException("The value of 'vote_average' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getDouble(index);
     }
 
     /**
      * Total votes cast for the movie.
      */
     public int getVoteCount() {
-        Integer res = getIntegerOrNull(MovieColumns.VOTE_COUNT);
-        if (res == null)
+        int index = checkColumnIndex(mVoteCountIndex, MovieColumns.VOTE_COUNT);
+        if (isNull(index))
             throw new NullPointerException("The value of 'vote_count' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getInt(index);
+    }
+
+    /**
+     * When the row was last written from a tmdb.org response, in
+     * milliseconds since the epoch.
+     * Can be {@code null}.
+     */
+    @Nullable
+    public Long getFetchedAt() {
+        int index = checkColumnIndex(mFetchedAtIndex, MovieColumns.FETCHED_AT);
+        if (isNull(index))
+            return null;
+        return getLong(index);
+    }
+
+    /**
+     * Same as {@link #getFetchedAt()}, without boxing.
+     * Returns {@code defaultValue} if the value is {@code null}.
+     */
+    public long getFetchedAt(long defaultValue) {
+        int index = checkColumnIndex(mFetchedAtIndex, MovieColumns.FETCHED_AT);
+        if (isNull(index))
+            return defaultValue;
+        return getLong(index);
     }
 }
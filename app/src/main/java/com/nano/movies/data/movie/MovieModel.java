@@ -88,4 +88,12 @@ public interface MovieModel extends BaseModel {
      * Total votes cast for the movie.
      */
     int getVoteCount();
+
+    /**
+     * When the row was last written from a tmdb.org response, in
+     * milliseconds since the epoch.
+     * Can be {@code null}.
+     */
+    @Nullable
+    Long getFetchedAt();
 }
@@ -562,4 +562,44 @@ public class MovieSelection extends AbstractSelection<MovieSelection> {
         orderBy(MovieColumns.VOTE_COUNT, false);
         return this;
     }
+
+    public MovieSelection fetchedAt(Long... value) {
+        addEquals(MovieColumns.FETCHED_AT, value);
+        return this;
+    }
+
+    public MovieSelection fetchedAtNot(Long... value) {
+        addNotEquals(MovieColumns.FETCHED_AT, value);
+        return this;
+    }
+
+    public MovieSelection fetchedAtGt(long value) {
+        addGreaterThan(MovieColumns.FETCHED_AT, value);
+        return this;
+    }
+
+    public MovieSelection fetchedAtGtEq(long value) {
+        addGreaterThanOrEquals(MovieColumns.FETCHED_AT, value);
+        return this;
+    }
+
+    public MovieSelection fetchedAtLt(long value) {
+        addLessThan(MovieColumns.FETCHED_AT, value);
+        return this;
+    }
+
+    public MovieSelection fetchedAtLtEq(long value) {
+        addLessThanOrEquals(MovieColumns.FETCHED_AT, value);
+        return this;
+    }
+
+    public MovieSelection orderByFetchedAt(boolean desc) {
+        orderBy(MovieColumns.FETCHED_AT, desc);
+        return this;
+    }
+
+    public MovieSelection orderByFetchedAt() {
+        orderBy(MovieColumns.FETCHED_AT, false);
+        return this;
+    }
 }
@@ -9,6 +9,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import com.nano.movies.data.base.AbstractContentValues;
+import com.nano.movies.data.base.BaseContentProvider;
 
 /**
  * Content values wrapper for the {@code review} table.
@@ -39,6 +40,32 @@ public class ReviewContentValues extends AbstractContentValues {
         return context.getContentResolver().update(uri(), values(), where == null ? null : where.sel(), where == null ? null : where.args());
     }
 
+    /**
+     * Returns the {@code uri} to insert through to upsert, see {@link #upsert(ContentResolver)}.
+     */
+    public Uri upsertUri() {
+        return BaseContentProvider.upsert(uri(), ReviewColumns.REVIEW_ID);
+    }
+
+    /**
+     * Insert a row, or if there is already one with the same {@code review_id},
+     * update only its changed columns in place, keeping its {@code _id}.
+     *
+     * @param contentResolver The content resolver to use.
+     * @return The uri of the row, ending in its {@code _id} either way.
+     */
+    public Uri upsert(ContentResolver contentResolver) {
+        return contentResolver.insert(upsertUri(), values());
+    }
+
+    /**
+     * @see #upsert(ContentResolver)
+     * @param context The context to use.
+     */
+    public Uri upsert(Context context) {
+        return context.getContentResolver().insert(upsertUri(), values());
+    }
+
     /**
      * Id of movie in movies table.
      */
@@ -13,38 +13,76 @@ import com.nano.movies.data.movie.*;
  * Cursor wrapper for the {@code review} table.
  */
 public class ReviewCursor extends AbstractCursor implements ReviewModel {
+    // Column indexes, resolved once. -1 if the column isn't in the projection.
+    private final int mIdIndex;
+    private final int mMovieIdIndex;
+    private final int mMovieTmdbIdIndex;
+    private final int mMovieHomepageIndex;
+    private final int mMovieOriginalTitleIndex;
+    private final int mMovieOverviewIndex;
+    private final int mMoviePopularityIndex;
+    private final int mMoviePosterPathIndex;
+    private final int mMovieReleaseDateIndex;
+    private final int mMovieRuntimeIndex;
+    private final int mMovieTaglineIndex;
+    private final int mMovieTitleIndex;
+    private final int mMovieVoteAverageIndex;
+    private final int mMovieVoteCountIndex;
+    private final int mReviewIdIndex;
+    private final int mAuthorIndex;
+    private final int mContentIndex;
+    private final int mUrlIndex;
+
     public ReviewCursor(Cursor cursor) {
         super(cursor);
+        mIdIndex = cursor.getColumnIndex(ReviewColumns._ID);
+        mMovieIdIndex = cursor.getColumnIndex(ReviewColumns.MOVIE_ID);
+        mMovieTmdbIdIndex = cursor.getColumnIndex(MovieColumns.TMDB_ID);
+        mMovieHomepageIndex = cursor.getColumnIndex(MovieColumns.HOMEPAGE);
+        mMovieOriginalTitleIndex = cursor.getColumnIndex(MovieColumns.ORIGINAL_TITLE);
+        mMovieOverviewIndex = cursor.getColumnIndex(MovieColumns.OVERVIEW);
+        mMoviePopularityIndex = cursor.getColumnIndex(MovieColumns.POPULARITY);
+        mMoviePosterPathIndex = cursor.getColumnIndex(MovieColumns.POSTER_PATH);
+        mMovieReleaseDateIndex = cursor.getColumnIndex(MovieColumns.RELEASE_DATE);
+        mMovieRuntimeIndex = cursor.getColumnIndex(MovieColumns.RUNTIME);
+        mMovieTaglineIndex = cursor.getColumnIndex(MovieColumns.TAGLINE);
+        mMovieTitleIndex = cursor.getColumnIndex(MovieColumns.TITLE);
+        mMovieVoteAverageIndex = cursor.getColumnIndex(MovieColumns.VOTE_AVERAGE);
+        mMovieVoteCountIndex = cursor.getColumnIndex(MovieColumns.VOTE_COUNT);
+        mReviewIdIndex = cursor.getColumnIndex(ReviewColumns.REVIEW_ID);
+        mAuthorIndex = cursor.getColumnIndex(ReviewColumns.AUTHOR);
+        mContentIndex = cursor.getColumnIndex(ReviewColumns.CONTENT);
+        mUrlIndex = cursor.getColumnIndex(ReviewColumns.URL);
     }
 
     /**
      * Primary key.
      */
     public long getId() {
-        Long res = getLongOrNull(ReviewColumns._ID);
-        if (res == null)
+        int index = checkColumnIndex(mIdIndex, ReviewColumns._ID);
+        if (isNull(index))
             throw new NullPointerException("The value of '_id' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getLong(index);
     }
 
     /**
      * Id of movie in movies table.
      */
     public long getMovieId() {
-        Long res = getLongOrNull(ReviewColumns.MOVIE_ID);
-        if (res == null)
+        int index = checkColumnIndex(mMovieIdIndex, ReviewColumns.MOVIE_ID);
+        if (isNull(index))
             throw new NullPointerException("The value of 'movie_id' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getLong(index);
     }
 
     /**
      * Movie's unique tmdb.org id, used to identify the movie in api calls.
      */
     public int getMovieTmdbId() {
-        Integer res = getIntegerOrNull(MovieColumns.TMDB_ID);
-        if (res == null)
+        int index = checkColumnIndex(mMovieTmdbIdIndex, MovieColumns.TMDB_ID);
+        if (isNull(index))
             throw new NullPointerException("The value of 'tmdb_id' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getInt(index);
     }
 
     /**
@@ -53,8 +91,10 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @Nullable
     public String getMovieHomepage() {
-        String res = getStringOrNull(MovieColumns.HOMEPAGE);
-        return res;
+        int index = checkColumnIndex(mMovieHomepageIndex, MovieColumns.HOMEPAGE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -63,8 +103,10 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @Nullable
     public String getMovieOriginalTitle() {
-        String res = getStringOrNull(MovieColumns.ORIGINAL_TITLE);
-        return res;
+        int index = checkColumnIndex(mMovieOriginalTitleIndex, MovieColumns.ORIGINAL_TITLE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -73,8 +115,10 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @Nullable
     public String getMovieOverview() {
-        String res = getStringOrNull(MovieColumns.OVERVIEW);
-        return res;
+        int index = checkColumnIndex(mMovieOverviewIndex, MovieColumns.OVERVIEW);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -83,8 +127,21 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @Nullable
     public Double getMoviePopularity() {
-        Double res = getDoubleOrNull(MovieColumns.POPULARITY);
-        return res;
+        int index = checkColumnIndex(mMoviePopularityIndex, MovieColumns.POPULARITY);
+        if (isNull(index))
+            return null;
+        return getDouble(index);
+    }
+
+    /**
+     * Same as {@link #getMoviePopularity()}, without boxing.
+     * Returns {@code defaultValue} if the value is {@code null}.
+     */
+    public double getMoviePopularity(double defaultValue) {
+        int index = checkColumnIndex(mMoviePopularityIndex, MovieColumns.POPULARITY);
+        if (isNull(index))
+            return defaultValue;
+        return getDouble(index);
     }
 
     /**
@@ -93,8 +150,10 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @Nullable
     public String getMoviePosterPath() {
-        String res = getStringOrNull(MovieColumns.POSTER_PATH);
-        return res;
+        int index = checkColumnIndex(mMoviePosterPathIndex, MovieColumns.POSTER_PATH);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -103,8 +162,21 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @Nullable
     public Date getMovieReleaseDate() {
-        Date res = getDateOrNull(MovieColumns.RELEASE_DATE);
-        return res;
+        int index = checkColumnIndex(mMovieReleaseDateIndex, MovieColumns.RELEASE_DATE);
+        if (isNull(index))
+            return null;
+        return new Date(getLong(index));
+    }
+
+    /**
+     * Same as {@link #getMovieReleaseDate()}, as epoch milliseconds, without allocating a {@code Date}.
+     * Returns {@code defaultValue} if the value is {@code null}.
+     */
+    public long getMovieReleaseDateMillis(long defaultValue) {
+        int index = checkColumnIndex(mMovieReleaseDateIndex, MovieColumns.RELEASE_DATE);
+        if (isNull(index))
+            return defaultValue;
+        return getLong(index);
     }
 
     /**
@@ -113,8 +185,21 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @Nullable
     public Integer getMovieRuntime() {
-        Integer res = getIntegerOrNull(MovieColumns.RUNTIME);
-        return res;
+        int index = checkColumnIndex(mMovieRuntimeIndex, MovieColumns.RUNTIME);
+        if (isNull(index))
+            return null;
+        return getInt(index);
+    }
+
+    /**
+     * Same as {@link #getMovieRuntime()}, without boxing.
+     * Returns {@code defaultValue} if the value is {@code null}.
+     */
+    public int getMovieRuntime(int defaultValue) {
+        int index = checkColumnIndex(mMovieRuntimeIndex, MovieColumns.RUNTIME);
+        if (isNull(index))
+            return defaultValue;
+        return getInt(index);
     }
 
     /**
@@ -123,8 +208,10 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @Nullable
     public String getMovieTagline() {
-        String res = getStringOrNull(MovieColumns.TAGLINE);
-        return res;
+        int index = checkColumnIndex(mMovieTaglineIndex, MovieColumns.TAGLINE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -133,28 +220,30 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @Nullable
     public String getMovieTitle() {
-        String res = getStringOrNull(MovieColumns.TITLE);
-        return res;
+        int index = checkColumnIndex(mMovieTitleIndex, MovieColumns.TITLE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
      * Average voter rating, from 1 to 10.
      */
     public double getMovieVoteAverage() {
-        Double res = getDoubleOrNull(MovieColumns.VOTE_AVERAGE);
-        if (res == null)
+        int index = checkColumnIndex(mMovieVoteAverageIndex, MovieColumns.VOTE_AVERAGE);
+        if (isNull(index))
             throw new NullPointerException("The value of 'vote_average' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getDouble(index);
     }
 
     /**
      * Total votes cast for the movie.
      */
     public int getMovieVoteCount() {
-        Integer res = getIntegerOrNull(MovieColumns.VOTE_COUNT);
-        if (res == null)
+        int index = checkColumnIndex(mMovieVoteCountIndex, MovieColumns.VOTE_COUNT);
+        if (isNull(index))
             throw new NullPointerException("The value of 'vote_count' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getInt(index);
     }
 
     /**
@@ -163,10 +252,10 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @NonNull
     public String getReviewId() {
-        String res = getStringOrNull(ReviewColumns.REVIEW_ID);
-        if (res == null)
+        int index = checkColumnIndex(mReviewIdIndex, ReviewColumns.REVIEW_ID);
+        if (isNull(index))
             throw new NullPointerException("The value of 'review_id' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getString(index);
     }
 
     /**
@@ -175,10 +264,10 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @NonNull
     public String getAuthor() {
-        String res = getStringOrNull(ReviewColumns.AUTHOR);
-        if (res == null)
+        int index = checkColumnIndex(mAuthorIndex, ReviewColumns.AUTHOR);
+        if (isNull(index))
             throw new NullPointerException("The value of 'author' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getString(index);
     }
 
     /**
@@ -187,10 +276,10 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @NonNull
     public String getContent() {
-        String res = getStringOrNull(ReviewColumns.CONTENT);
-        if (res == null)
+        int index = checkColumnIndex(mContentIndex, ReviewColumns.CONTENT);
+        if (isNull(index))
             throw new NullPointerException("The value of 'content' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getString(index);
     }
 
     /**
@@ -199,9 +288,9 @@ public class ReviewCursor extends AbstractCursor implements ReviewModel {
      */
     @NonNull
     public String getUrl() {
-        String res = getStringOrNull(ReviewColumns.URL);
-        if (res == null)
+        int index = checkColumnIndex(mUrlIndex, ReviewColumns.URL);
+        if (isNull(index))
             throw new NullPointerException("The value of 'url' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getString(index);
     }
 }
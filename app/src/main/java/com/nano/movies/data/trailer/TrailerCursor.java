@@ -13,38 +13,78 @@ import com.nano.movies.data.movie.*;
  * Cursor wrapper for the {@code trailer} table.
  */
 public class TrailerCursor extends AbstractCursor implements TrailerModel {
+    // Column indexes, resolved once. -1 if the column isn't in the projection.
+    private final int mIdIndex;
+    private final int mMovieIdIndex;
+    private final int mMovieTmdbIdIndex;
+    private final int mMovieHomepageIndex;
+    private final int mMovieOriginalTitleIndex;
+    private final int mMovieOverviewIndex;
+    private final int mMoviePopularityIndex;
+    private final int mMoviePosterPathIndex;
+    private final int mMovieReleaseDateIndex;
+    private final int mMovieRuntimeIndex;
+    private final int mMovieTaglineIndex;
+    private final int mMovieTitleIndex;
+    private final int mMovieVoteAverageIndex;
+    private final int mMovieVoteCountIndex;
+    private final int mNameIndex;
+    private final int mSizeIndex;
+    private final int mSourceIndex;
+    private final int mTypeIndex;
+    private final int mOriginIndex;
+
     public TrailerCursor(Cursor cursor) {
         super(cursor);
+        mIdIndex = cursor.getColumnIndex(TrailerColumns._ID);
+        mMovieIdIndex = cursor.getColumnIndex(TrailerColumns.MOVIE_ID);
+        mMovieTmdbIdIndex = cursor.getColumnIndex(MovieColumns.TMDB_ID);
+        mMovieHomepageIndex = cursor.getColumnIndex(MovieColumns.HOMEPAGE);
+        mMovieOriginalTitleIndex = cursor.getColumnIndex(MovieColumns.ORIGINAL_TITLE);
+        mMovieOverviewIndex = cursor.getColumnIndex(MovieColumns.OVERVIEW);
+        mMoviePopularityIndex = cursor.getColumnIndex(MovieColumns.POPULARITY);
+        mMoviePosterPathIndex = cursor.getColumnIndex(MovieColumns.POSTER_PATH);
+        mMovieReleaseDateIndex = cursor.getColumnIndex(MovieColumns.RELEASE_DATE);
+        mMovieRuntimeIndex = cursor.getColumnIndex(MovieColumns.RUNTIME);
+        mMovieTaglineIndex = cursor.getColumnIndex(MovieColumns.TAGLINE);
+        mMovieTitleIndex = cursor.getColumnIndex(MovieColumns.TITLE);
+        mMovieVoteAverageIndex = cursor.getColumnIndex(MovieColumns.VOTE_AVERAGE);
+        mMovieVoteCountIndex = cursor.getColumnIndex(MovieColumns.VOTE_COUNT);
+        mNameIndex = cursor.getColumnIndex(TrailerColumns.NAME);
+        mSizeIndex = cursor.getColumnIndex(TrailerColumns.SIZE);
+        mSourceIndex = cursor.getColumnIndex(TrailerColumns.SOURCE);
+        mTypeIndex = cursor.getColumnIndex(TrailerColumns.TYPE);
+        mOriginIndex = cursor.getColumnIndex(TrailerColumns.ORIGIN);
     }
 
     /**
      * Primary key.
      */
     public long getId() {
-        Long res = getLongOrNull(TrailerColumns._ID);
-        if (res == null)
+        int index = checkColumnIndex(mIdIndex, TrailerColumns._ID);
+        if (isNull(index))
             throw new NullPointerException("The value of '_id' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getLong(index);
     }
 
     /**
      * Id of movie.
      */
     public long getMovieId() {
-        Long res = getLongOrNull(TrailerColumns.MOVIE_ID);
-        if (res == null)
+        int index = checkColumnIndex(mMovieIdIndex, TrailerColumns.MOVIE_ID);
+        if (isNull(index))
             throw new NullPointerException("The value of 'movie_id' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getLong(index);
     }
 
     /**
      * Movie's unique tmdb.org id, used to identify the movie in api calls.
      */
     public int getMovieTmdbId() {
-        Integer res = getIntegerOrNull(MovieColumns.TMDB_ID);
-        if (res == null)
+        int index = checkColumnIndex(mMovieTmdbIdIndex, MovieColumns.TMDB_ID);
+        if (isNull(index))
             throw new NullPointerException("The value of 'tmdb_id' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getInt(index);
     }
 
     /**
@@ -53,8 +93,10 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @Nullable
     public String getMovieHomepage() {
-        String res = getStringOrNull(MovieColumns.HOMEPAGE);
-        return res;
+        int index = checkColumnIndex(mMovieHomepageIndex, MovieColumns.HOMEPAGE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -63,8 +105,10 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @Nullable
     public String getMovieOriginalTitle() {
-        String res = getStringOrNull(MovieColumns.ORIGINAL_TITLE);
-        return res;
+        int index = checkColumnIndex(mMovieOriginalTitleIndex, MovieColumns.ORIGINAL_TITLE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -73,8 +117,10 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @Nullable
     public String getMovieOverview() {
-        String res = getStringOrNull(MovieColumns.OVERVIEW);
-        return res;
+        int index = checkColumnIndex(mMovieOverviewIndex, MovieColumns.OVERVIEW);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -83,8 +129,21 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @Nullable
     public Double getMoviePopularity() {
-        Double res = getDoubleOrNull(MovieColumns.POPULARITY);
-        return res;
+        int index = checkColumnIndex(mMoviePopularityIndex, MovieColumns.POPULARITY);
+        if (isNull(index))
+            return null;
+        return getDouble(index);
+    }
+
+    /**
+     * Same as {@link #getMoviePopularity()}, without boxing.
+     * Returns {@code defaultValue} if the value is {@code null}.
+     */
+    public double getMoviePopularity(double defaultValue) {
+        int index = checkColumnIndex(mMoviePopularityIndex, MovieColumns.POPULARITY);
+        if (isNull(index))
+            return defaultValue;
+        return getDouble(index);
     }
 
     /**
@@ -93,8 +152,10 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @Nullable
     public String getMoviePosterPath() {
-        String res = getStringOrNull(MovieColumns.POSTER_PATH);
-        return res;
+        int index = checkColumnIndex(mMoviePosterPathIndex, MovieColumns.POSTER_PATH);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -103,8 +164,21 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @Nullable
     public Date getMovieReleaseDate() {
-        Date res = getDateOrNull(MovieColumns.RELEASE_DATE);
-        return res;
+        int index = checkColumnIndex(mMovieReleaseDateIndex, MovieColumns.RELEASE_DATE);
+        if (isNull(index))
+            return null;
+        return new Date(getLong(index));
+    }
+
+    /**
+     * Same as {@link #getMovieReleaseDate()}, as epoch milliseconds, without allocating a {@code Date}.
+     * Returns {@code defaultValue} if the value is {@code null}.
+     */
+    public long getMovieReleaseDateMillis(long defaultValue) {
+        int index = checkColumnIndex(mMovieReleaseDateIndex, MovieColumns.RELEASE_DATE);
+        if (isNull(index))
+            return defaultValue;
+        return getLong(index);
     }
 
     /**
@@ -113,8 +187,21 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @Nullable
     public Integer getMovieRuntime() {
-        Integer res = getIntegerOrNull(MovieColumns.RUNTIME);
-        return res;
+        int index = checkColumnIndex(mMovieRuntimeIndex, MovieColumns.RUNTIME);
+        if (isNull(index))
+            return null;
+        return getInt(index);
+    }
+
+    /**
+     * Same as {@link #getMovieRuntime()}, without boxing.
+     * Returns {@code defaultValue} if the value is {@code null}.
+     */
+    public int getMovieRuntime(int defaultValue) {
+        int index = checkColumnIndex(mMovieRuntimeIndex, MovieColumns.RUNTIME);
+        if (isNull(index))
+            return defaultValue;
+        return getInt(index);
     }
 
     /**
@@ -123,8 +210,10 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @Nullable
     public String getMovieTagline() {
-        String res = getStringOrNull(MovieColumns.TAGLINE);
-        return res;
+        int index = checkColumnIndex(mMovieTaglineIndex, MovieColumns.TAGLINE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -133,28 +222,30 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @Nullable
     public String getMovieTitle() {
-        String res = getStringOrNull(MovieColumns.TITLE);
-        return res;
+        int index = checkColumnIndex(mMovieTitleIndex, MovieColumns.TITLE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
      * Average voter rating, from 1 to 10.
      */
     public double getMovieVoteAverage() {
-        Double res = getDoubleOrNull(MovieColumns.VOTE_AVERAGE);
-        if (res == null)
+        int index = checkColumnIndex(mMovieVoteAverageIndex, MovieColumns.VOTE_AVERAGE);
+        if (isNull(index))
             throw new NullPointerException("The value of 'vote_average' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getDouble(index);
     }
 
     /**
      * Total votes cast for the movie.
      */
     public int getMovieVoteCount() {
-        Integer res = getIntegerOrNull(MovieColumns.VOTE_COUNT);
-        if (res == null)
+        int index = checkColumnIndex(mMovieVoteCountIndex, MovieColumns.VOTE_COUNT);
+        if (isNull(index))
             throw new NullPointerException("The value of 'vote_count' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getInt(index);
     }
 
     /**
@@ -163,10 +254,10 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @NonNull
     public String getName() {
-        String res = getStringOrNull(TrailerColumns.NAME);
-        if (res == null)
+        int index = checkColumnIndex(mNameIndex, TrailerColumns.NAME);
+        if (isNull(index))
             throw new NullPointerException("The value of 'name' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getString(index);
     }
 
     /**
@@ -175,8 +266,10 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @Nullable
     public String getSize() {
-        String res = getStringOrNull(TrailerColumns.SIZE);
-        return res;
+        int index = checkColumnIndex(mSizeIndex, TrailerColumns.SIZE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -185,10 +278,10 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @NonNull
     public String getSource() {
-        String res = getStringOrNull(TrailerColumns.SOURCE);
-        if (res == null)
+        int index = checkColumnIndex(mSourceIndex, TrailerColumns.SOURCE);
+        if (isNull(index))
             throw new NullPointerException("The value of 'source' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getString(index);
     }
 
     /**
@@ -197,8 +290,10 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @Nullable
     public String getType() {
-        String res = getStringOrNull(TrailerColumns.TYPE);
-        return res;
+        int index = checkColumnIndex(mTypeIndex, TrailerColumns.TYPE);
+        if (isNull(index))
+            return null;
+        return getString(index);
     }
 
     /**
@@ -207,9 +302,9 @@ public class TrailerCursor extends AbstractCursor implements TrailerModel {
      */
     @NonNull
     public String getOrigin() {
-        String res = getStringOrNull(TrailerColumns.ORIGIN);
-        if (res == null)
+        int index = checkColumnIndex(mOriginIndex, TrailerColumns.ORIGIN);
+        if (isNull(index))
             throw new NullPointerException("The value of 'origin' in the database was null, which is not allowed according to the model definition");
-        return res;
+        return getString(index);
     }
 }
@@ -1,25 +1,58 @@
 package com.nano.movies.utils;
 
-import android.content.ContentUris;
+import android.content.ContentProviderOperation;
+import android.content.ContentValues;
 import android.content.Context;
+import android.content.OperationApplicationException;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteStatement;
 import android.net.Uri;
+import android.os.RemoteException;
+import android.provider.BaseColumns;
+import android.util.Log;
 
+import com.nano.movies.data.MovieProvider;
+import com.nano.movies.data.MovieSQLiteOpenHelper;
+import com.nano.movies.data.base.BaseContentProvider;
+import com.nano.movies.data.discovermovie.DiscoverMovieColumns;
+import com.nano.movies.data.discovermovie.DiscoverMovieContentValues;
+import com.nano.movies.data.discovermovie.DiscoverMovieCursor;
+import com.nano.movies.data.discovermovie.DiscoverMovieSelection;
+import com.nano.movies.data.discoverpage.DiscoverPageColumns;
+import com.nano.movies.data.discoverpage.DiscoverPageContentValues;
+import com.nano.movies.data.discoverpage.DiscoverPageSelection;
 import com.nano.movies.data.movie.MovieColumns;
 import com.nano.movies.data.movie.MovieContentValues;
 import com.nano.movies.data.movie.MovieCursor;
 import com.nano.movies.data.movie.MovieSelection;
+import com.nano.movies.data.review.ReviewColumns;
 import com.nano.movies.data.review.ReviewContentValues;
+import com.nano.movies.data.review.ReviewCursor;
+import com.nano.movies.data.review.ReviewSelection;
+import com.nano.movies.data.trailer.TrailerColumns;
 import com.nano.movies.data.trailer.TrailerContentValues;
+import com.nano.movies.data.trailer.TrailerCursor;
+import com.nano.movies.data.trailer.TrailerSelection;
 import com.nano.movies.web.Movie;
 import com.nano.movies.web.Reviews;
+import com.nano.movies.web.TmdbResults;
 import com.nano.movies.web.Trailers;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class DatabaseUtils {
+    private static final String TAG = DatabaseUtils.class.getSimpleName();
 
     private final static String TRAILER_ORIGIN_YOUTUBE = "youtube";
 
+    //See isFavoriteMovie, guarded by DatabaseUtils.class
+    private static SQLiteStatement sIsFavoriteStatement;
+
     public static void clearDatabase(Context context) {
         // Delete movies ((which should also delete Reviews and Trailers because
         // of the "on delete cascade" constraint)
@@ -28,36 +61,268 @@ public class DatabaseUtils {
     }
 
     public static void insertMovies(Context context, List<Movie> movies) {
+        ArrayList<ContentProviderOperation> operations = new ArrayList<>();
         for (int position = 0; position < movies.size(); position++) {
-            insertMovie(context, movies.get(position));
+            addInsertMovieOperations(operations, movies.get(position));
         }
+        applyBatch(context, operations);
     }
 
     /**
      * Insert movie first, which returns its primary key
      * to use as the movie_id foreign key when inserting trailers and reviews.
      * <p/>
-     * Don't try to insert Reviews and Trailers. They
      * Then insert Reviews and Trailers.  A movie has one list of reviews and
      * two lists of trailers (Youtube and Quicktime (Quicktime REMOVED)).
      * Reviews and/or trailers may be empty.
+     * <p/>
+     * All the inserts go to the ContentProvider as one batch, so they
+     * run in a single transaction and observers are notified once, after it commits.
+     * <p/>
+     * They're upserts, so if the movie (or one of its reviews or trailers)
+     * is already stored, its row is updated in place and keeps its _id,
+     * instead of ON CONFLICT REPLACE deleting it (and cascading to
+     * everything hanging off it) and inserting a new one.
      */
     public static void insertMovie(Context context, Movie movie) {
-        long movieId = dbInsertMovie(context, movie);
+        ArrayList<ContentProviderOperation> operations = new ArrayList<>();
+        addInsertMovieOperations(operations, movie);
+        applyBatch(context, operations);
+    }
+
+    /**
+     * Write freshly downloaded copies of favorites over the stored ones,
+     * all in one transaction.
+     * <p/>
+     * Only what actually changed is written: the movie row gets just its
+     * changed columns (plus fetched_at), trailers and reviews are matched up
+     * by source and review id, then inserted, updated or deleted as needed.
+     * Movies that stopped being favorites in the meantime are skipped.
+     * <p/>
+     * The rows are read before the batch runs, so a favorite can still be
+     * removed (on another thread) in between.  Each movie's operations
+     * start by asserting its row is still there, so then the batch rolls
+     * back instead of inserting trailers and reviews for a movie_id that's
+     * gone, and the movies are tried again one at a time.
+     * <p/>
+     * Reads the database, so call it off the main thread.
+     */
+    public static void updateFavorites(Context context, List<Movie> movies) {
+        ArrayList<ContentProviderOperation> operations = new ArrayList<>();
+        for (Movie movie : movies)
+            addUpdateFavoriteOperations(context, operations, movie);
+        if (applyBatch(context, operations) || movies.size() == 1)
+            return;
+        for (Movie movie : movies) {
+            operations.clear();
+            addUpdateFavoriteOperations(context, operations, movie);
+            applyBatch(context, operations);
+        }
+    }
+
+    private static void addUpdateFavoriteOperations(Context context,
+                                                    ArrayList<ContentProviderOperation> operations,
+                                                    Movie movie) {
+        MovieSelection movieSelection = new MovieSelection();
+        movieSelection.tmdbId(movie.getId());
+        MovieCursor movieCursor = movieSelection.query(context.getContentResolver(),
+                MovieColumns.ALL_COLUMNS);
+        if (movieCursor == null)
+            return;
+        long movieRowId;
+        try {
+            if (!movieCursor.moveToFirst())
+                return;
+            movieRowId = movieCursor.getId();
+            ContentValues changed = changedValues(movieValues(movie).values(), movieCursor);
+            changed.remove(MovieColumns.TMDB_ID);
+            MovieSelection row = new MovieSelection();
+            row.id(movieRowId);
+            operations.add(ContentProviderOperation
+                    .newAssertQuery(MovieColumns.CONTENT_URI)
+                    .withSelection(row.sel(), row.args())
+                    .withExpectedCount(1)
+                    .build());
+            operations.add(ContentProviderOperation
+                    .newUpdate(BaseContentProvider.notify(MovieColumns.CONTENT_URI, false))
+                    .withSelection(row.sel(), row.args())
+                    .withValues(changed)
+                    .build());
+        } finally {
+            movieCursor.close();
+        }
+
+        if (movie.getTrailers() != null && movie.getTrailers().getYoutube() != null) {
+            Map<String, ContentValues> trailers = new LinkedHashMap<>();
+            for (Trailers.Trailer trailer : movie.getTrailers().getYoutube())
+                trailers.put(trailer.getSource(),
+                        trailerValues(trailer, TRAILER_ORIGIN_YOUTUBE).values());
+            TrailerSelection trailerSelection = new TrailerSelection();
+            trailerSelection.movieId(movieRowId).and().origin(TRAILER_ORIGIN_YOUTUBE);
+            String[] projection = {TrailerColumns._ID, TrailerColumns.NAME, TrailerColumns.SIZE,
+                    TrailerColumns.SOURCE, TrailerColumns.TYPE, TrailerColumns.ORIGIN};
+            addUpdateChildOperations(operations,
+                    trailerSelection.query(context.getContentResolver(), projection),
+                    TrailerColumns.SOURCE, trailers, TrailerColumns.CONTENT_URI,
+                    new TrailerContentValues().upsertUri(), TrailerColumns.MOVIE_ID, movieRowId);
+        }
+
+        if (movie.getReviews() != null && movie.getReviews().getResults() != null) {
+            Map<String, ContentValues> reviews = new LinkedHashMap<>();
+            for (Reviews.Review review : movie.getReviews().getResults())
+                reviews.put(review.getId(), reviewValues(review).values());
+            ReviewSelection reviewSelection = new ReviewSelection();
+            reviewSelection.movieId(movieRowId);
+            String[] projection = {ReviewColumns._ID, ReviewColumns.REVIEW_ID,
+                    ReviewColumns.AUTHOR, ReviewColumns.CONTENT, ReviewColumns.URL};
+            addUpdateChildOperations(operations,
+                    reviewSelection.query(context.getContentResolver(), projection),
+                    ReviewColumns.REVIEW_ID, reviews, ReviewColumns.CONTENT_URI,
+                    new ReviewContentValues().upsertUri(), ReviewColumns.MOVIE_ID, movieRowId);
+        }
+    }
+
+    /**
+     * Match stored trailer or review rows up with downloaded ones by key.
+     * Stored rows that weren't downloaded are deleted, downloaded ones
+     * that weren't stored are inserted, the rest are updated if they changed.
+     * <p/>
+     * Inserts go through upsertUri, so a review tmdb.org has moved
+     * to this movie is updated in place rather than replaced.
+     *
+     * @param stored    The movie's stored rows, closed when done.
+     * @param newRows   Downloaded rows by key, without movie_id.
+     * @param upsertUri Where to insert, eg., ReviewContentValues.upsertUri()
+     */
+    private static void addUpdateChildOperations(ArrayList<ContentProviderOperation> operations,
+                                                 Cursor stored, String keyColumn,
+                                                 Map<String, ContentValues> newRows,
+                                                 Uri contentUri, Uri upsertUri,
+                                                 String movieIdColumn, long movieRowId) {
+        Uri uri = BaseContentProvider.notify(contentUri, false);
+        if (stored != null) {
+            try {
+                int idIndex = stored.getColumnIndexOrThrow(BaseColumns._ID);
+                int keyIndex = stored.getColumnIndexOrThrow(keyColumn);
+                while (stored.moveToNext()) {
+                    String[] rowId = {String.valueOf(stored.getLong(idIndex))};
+                    ContentValues values = newRows.remove(stored.getString(keyIndex));
+                    if (values == null) {
+                        operations.add(ContentProviderOperation.newDelete(uri)
+                                .withSelection(BaseColumns._ID + "=?", rowId)
+                                .build());
+                        continue;
+                    }
+                    ContentValues changed = changedValues(values, stored);
+                    if (changed.size() > 0) {
+                        operations.add(ContentProviderOperation.newUpdate(uri)
+                                .withSelection(BaseColumns._ID + "=?", rowId)
+                                .withValues(changed)
+                                .build());
+                    }
+                }
+            } finally {
+                stored.close();
+            }
+        }
+        Uri insertUri = BaseContentProvider.notify(upsertUri, false);
+        for (ContentValues values : newRows.values()) {
+            values.put(movieIdColumn, movieRowId);
+            operations.add(ContentProviderOperation.newInsert(insertUri)
+                    .withValues(values)
+                    .build());
+        }
+    }
+
+    /**
+     * @return the values that differ from the cursor's current row,
+     * compared as the column's type, not as strings.
+     */
+    private static ContentValues changedValues(ContentValues values, Cursor stored) {
+        ContentValues changed = new ContentValues();
+        for (String column : values.keySet()) {
+            Object value = values.get(column);
+            int index = stored.getColumnIndex(column);
+            boolean isSame;
+            if (index < 0)
+                isSame = false;
+            else if (value == null || stored.isNull(index))
+                isSame = (value == null) && stored.isNull(index);
+            else if (value instanceof Double || value instanceof Float)
+                isSame = ((Number) value).doubleValue() == stored.getDouble(index);
+            else if (value instanceof Number)
+                isSame = ((Number) value).longValue() == stored.getLong(index);
+            else if (value instanceof Boolean)
+                isSame = (Boolean) value == (stored.getInt(index) != 0);
+            else
+                isSame = value.toString().equals(stored.getString(index));
+            if (!isSame)
+                putValue(changed, column, value);
+        }
+        return changed;
+    }
+
+    private static void putValue(ContentValues values, String column, Object value) {
+        if (value == null)
+            values.putNull(column);
+        else if (value instanceof Double)
+            values.put(column, (Double) value);
+        else if (value instanceof Float)
+            values.put(column, (Float) value);
+        else if (value instanceof Long)
+            values.put(column, (Long) value);
+        else if (value instanceof Integer)
+            values.put(column, (Integer) value);
+        else if (value instanceof Boolean)
+            values.put(column, (Boolean) value);
+        else
+            values.put(column, value.toString());
+    }
+
+    /**
+     * @return false if the batch failed and was rolled back.
+     */
+    private static boolean applyBatch(Context context,
+                                      ArrayList<ContentProviderOperation> operations) {
+        if (operations.size() == 0)
+            return true;
+        try {
+            context.getContentResolver().applyBatch(MovieProvider.AUTHORITY, operations);
+            return true;
+        } catch (RemoteException | OperationApplicationException e) {
+            Log.e(TAG, "Failed to apply batch", e);
+            return false;
+        }
+    }
+
+    /**
+     * Queue the movie upsert followed by its trailers and reviews.
+     * The movie's _id isn't known until the batch runs, so trailers and
+     * reviews pick it up with a back reference to the movie upsert's result,
+     * which is the existing row's _id if it was already stored.
+     */
+    private static void addInsertMovieOperations(ArrayList<ContentProviderOperation> operations,
+                                                 Movie movie) {
+        int movieIndex = operations.size();
+        MovieContentValues values = movieValues(movie);
+        operations.add(ContentProviderOperation
+                .newInsert(BaseContentProvider.notify(values.upsertUri(), false))
+                .withValues(values.values())
+                .build());
         if (movie.getTrailers() != null) {
-            insertTrailers(context, movie.getTrailers().getYoutube(), TRAILER_ORIGIN_YOUTUBE, movieId);
+            addInsertTrailerOperations(operations, movie.getTrailers().getYoutube(),
+                    TRAILER_ORIGIN_YOUTUBE, movieIndex);
         }
         if (movie.getReviews() != null)
-            insertReviews(context, movie.getReviews().getResults(), movieId);
+            addInsertReviewOperations(operations, movie.getReviews().getResults(), movieIndex);
     }
 
     /**
-     * Insert a movie.
-     *
-     * @return the id of the created movie. It will be used as
-     * foreign key when inserting reviews and trailers
+     * Set up a ContentValues object with all the movie fields.
+     * MovieContentValues is a Movie-specific wrapper containing a ContentValues object,
+     * the Uri's to Movie table operations, and CRUD wrapper methods.
      */
-    private static long dbInsertMovie(Context context, Movie movie) {
+    private static MovieContentValues movieValues(Movie movie) {
         MovieContentValues values = new MovieContentValues();
         values.putTmdbId(movie.getId());
         values.putHomepage(movie.getHomePage());
@@ -65,121 +330,260 @@ public class DatabaseUtils {
         values.putOverview(movie.getOverview());
         values.putPopularity(movie.getPopularity());
         values.putPosterPath(movie.getPosterPath());
-        values.putReleaseDate(movie.getReleaseDate());
+        values.putReleaseDate(movie.getReleaseDateMillis());
         values.putRuntime(movie.getRuntime());
         values.putTagline(movie.getTagline());
         values.putTitle(movie.getTitle());
         values.putVoteAverage(movie.getVoteAverage());
         values.putVoteCount(movie.getVoteCount());
-
-        Uri uri = values.insert(context.getContentResolver());
-        return ContentUris.parseId(uri);
+        values.putFetchedAt(System.currentTimeMillis());
+        return values;
     }
 
     /**
-     * Insert reviews into Trailers table. This table has
-     * foreign key movieId, (table column = tmdb_id) which references
+     * Queue trailer inserts into the Trailers table. This table has
+     * foreign key movieId, (table column = movie_id) which references
      * the Movie table's _id (the auto-generated primary key)
      *
-     * @param trailers Will be empty if movie has no trailers.
-     * @param movieId  The foreign key linking this trailer to its associated
-     *                 associated movie (Movie._id).
-     * @param origin   Trailer plays on either Youtube, or Quicktime (REMOVED)
+     * @param trailers   Will be empty if movie has no trailers.
+     * @param origin     Trailer plays on either Youtube, or Quicktime (REMOVED)
+     * @param movieIndex Position of the associated movie's insert in operations.
      */
-    private static void insertTrailers(Context context,
-                                       List<Trailers.Trailer> trailers,
-                                       String origin, Long movieId) {
-        Trailers.Trailer trailer;
-
+    private static void addInsertTrailerOperations(ArrayList<ContentProviderOperation> operations,
+                                                   List<Trailers.Trailer> trailers,
+                                                   String origin, int movieIndex) {
         if (trailers == null)
             return;
-        if (trailers.size() == 0)
-            return;
-        for (int i = 0; i < trailers.size(); i++) {
-            trailer = trailers.get(i);
-            dbInsertTrailer(context, trailer, origin, movieId);
+        for (Trailers.Trailer trailer : trailers) {
+            TrailerContentValues values = trailerValues(trailer, origin);
+            operations.add(ContentProviderOperation
+                    .newInsert(BaseContentProvider.notify(values.upsertUri(), false))
+                    .withValues(values.values())
+                    .withValueBackReference(TrailerColumns.MOVIE_ID, movieIndex)
+                    .build());
         }
     }
 
     /**
-     * Set up a ContentValues object with all the insert fields.
-     * Pass the ContentResolver ContentValues.insert().  This
-     * sends the data to the ContentProvider to be inserted into the db.
+     * TrailerContentValues is a Trailer-specific wrapper containing a ContentValues object,
+     * the Uri's to Trailer table operations, and CRUD wrapper methods.
+     * movie_id is filled in by the batch back reference.
      *
      * @param trailer
      * @param origin  Youtube or Quicktime (I have removed Quicktime from JSon response)
-     * @param movieId The _id of the movie associated with this trailer
-     * @return The _id of the inserted record
-     * <p/>
-     * TrailerContentValues is a Trailer-specific wrapper containing a ContentValues object,
-     * the Uri's to Trailer table operations, and CRUD wrapper methods.
      */
-    private static long dbInsertTrailer(Context context, Trailers.Trailer trailer, String origin, Long movieId) {
+    private static TrailerContentValues trailerValues(Trailers.Trailer trailer, String origin) {
         TrailerContentValues values = new TrailerContentValues();
-        values.putMovieId(movieId);
         values.putName(trailer.getName());
         values.putSize(trailer.getSize());
         values.putSource(trailer.getSource());
         values.putType(trailer.getType());
         values.putOrigin(origin);
-
-        Uri uri = values.insert(context.getContentResolver());
-        return ContentUris.parseId(uri);
+        return values;
     }
 
     /**
-     * Insert reviews into Review table. This table has
-     * foreign key movieId, (table column = tmdb_id) into the Movie table.
+     * Queue review inserts into the Review table. This table has
+     * foreign key movieId, (table column = movie_id) which references
+     * the movies table (column=_id)
      *
-     * @param reviews Will be empty if movie has no reviews.
-     * @param movieId
+     * @param reviews    Will be empty if movie has no reviews.
+     * @param movieIndex Position of the associated movie's insert in operations.
      */
-    private static void insertReviews(Context context, List<Reviews.Review> reviews, Long movieId) {
-        Reviews.Review review;
-
+    private static void addInsertReviewOperations(ArrayList<ContentProviderOperation> operations,
+                                                  List<Reviews.Review> reviews, int movieIndex) {
         if (reviews == null)
             return;
-        if (reviews.size() == 0)
-            return;
-        for (int i = 0; i < reviews.size(); i++) {
-            review = reviews.get(i);
-            dbInsertReview(context, review, movieId);
+        for (Reviews.Review review : reviews) {
+            ReviewContentValues values = reviewValues(review);
+            operations.add(ContentProviderOperation
+                    .newInsert(BaseContentProvider.notify(values.upsertUri(), false))
+                    .withValues(values.values())
+                    .withValueBackReference(ReviewColumns.MOVIE_ID, movieIndex)
+                    .build());
         }
     }
 
     /**
-     * Insert reviews into Review table. This table has
-     * foreign key movieId, (table column = tmdb_id) which references
-     * the movies table (column=_id)
-     *
-     * @param {review}
-     * @param movieId
-     * @return ReviewContentValues is a Review-specific wrapper class containing a ContentValues object,
+     * ReviewContentValues is a Review-specific wrapper class containing a ContentValues object,
      * the Uri's to Review table operations, and CRUD wrapper methods.
+     * movie_id is filled in by the batch back reference.
      */
-    private static long dbInsertReview(Context context, Reviews.Review trailer, Long movieId) {
+    private static ReviewContentValues reviewValues(Reviews.Review review) {
         ReviewContentValues values = new ReviewContentValues();
+        values.putReviewId(review.getId());
+        values.putAuthor(review.getAuthor());
+        values.putContent(review.getContent());
+        values.putUrl(review.getUrl());
+        return values;
+    }
 
-        values.putMovieId(movieId);
-        values.putReviewId(trailer.getId());
-        values.putAuthor(trailer.getAuthor());
-        values.putContent(trailer.getContent());
-        values.putUrl(trailer.getUrl());
-        values.putMovieId(movieId);
+    /**
+     * Read a favorite's Youtube trailers from the database.
+     *
+     * @param movieRowId The movie's _id (not its Tmdb id).
+     */
+    public static Trailers getTrailers(Context context, long movieRowId) {
+        TrailerSelection trailerSelection = new TrailerSelection();
+        trailerSelection.movieId(movieRowId).and().origin(TRAILER_ORIGIN_YOUTUBE).explain();
+        String[] projection = {TrailerColumns.NAME, TrailerColumns.SIZE,
+                TrailerColumns.SOURCE, TrailerColumns.TYPE};
+        TrailerCursor cursor = trailerSelection.query(context.getContentResolver(), projection);
+        List<Trailers.Trailer> trailers = new ArrayList<>();
+        if (cursor == null)
+            return new Trailers(trailers);
+        try {
+            while (cursor.moveToNext()) {
+                trailers.add(new Trailers.Trailer(cursor.getName(), cursor.getSize(),
+                        cursor.getSource(), cursor.getType()));
+            }
+        } finally {
+            cursor.close();
+        }
+        return new Trailers(trailers);
+    }
 
-        Uri uri = values.insert(context);
-        return ContentUris.parseId(uri);
+    /**
+     * Read a favorite's reviews from the database.
+     *
+     * @param movieRowId The movie's _id (not its Tmdb id).
+     */
+    public static Reviews getReviews(Context context, long movieRowId) {
+        ReviewSelection reviewSelection = new ReviewSelection();
+        reviewSelection.movieId(movieRowId).explain();
+        String[] projection = {ReviewColumns.REVIEW_ID, ReviewColumns.AUTHOR,
+                ReviewColumns.CONTENT, ReviewColumns.URL};
+        ReviewCursor cursor = reviewSelection.query(context.getContentResolver(), projection);
+        List<Reviews.Review> reviews = new ArrayList<>();
+        if (cursor == null)
+            return new Reviews(reviews);
+        try {
+            while (cursor.moveToNext()) {
+                reviews.add(new Reviews.Review(cursor.getReviewId(), cursor.getAuthor(),
+                        cursor.getContent(), cursor.getUrl()));
+            }
+        } finally {
+            cursor.close();
+        }
+        return new Reviews(reviews);
     }
 
-    // Query one person
+    /**
+     * Cache one discover page and its movies, in one transaction.
+     * <p/>
+     * Each page only replaces the cached copy of itself, even page 1, so
+     * a stale list is refreshed a page at a time and the later pages are
+     * still there for the next cold start until their turn comes.
+     * Deleting a page deletes its movies because of the
+     * "on delete cascade" constraint.
+     */
+    public static void insertDiscoverPage(Context context, String sortBy,
+                                          TmdbResults results, long fetchedAt) {
+        if (results.page == null || results.results == null)
+            return;
+        ArrayList<ContentProviderOperation> operations = new ArrayList<>();
+        DiscoverPageSelection oldPages = new DiscoverPageSelection();
+        oldPages.sortBy(sortBy).and().page(results.page);
+        operations.add(ContentProviderOperation
+                .newDelete(BaseContentProvider.notify(DiscoverPageColumns.CONTENT_URI, false))
+                .withSelection(oldPages.sel(), oldPages.args())
+                .build());
+
+        int pageIndex = operations.size();
+        DiscoverPageContentValues pageValues = new DiscoverPageContentValues();
+        pageValues.putSortBy(sortBy);
+        pageValues.putPage(results.page);
+        pageValues.putTotalPages((results.total_pages == null) ? results.page : results.total_pages);
+        pageValues.putFetchedAt(fetchedAt);
+        operations.add(ContentProviderOperation
+                .newInsert(BaseContentProvider.notify(DiscoverPageColumns.CONTENT_URI, false))
+                .withValues(pageValues.values())
+                .build());
+
+        for (int position = 0; position < results.results.size(); position++) {
+            Movie movie = results.results.get(position);
+            DiscoverMovieContentValues movieValues = new DiscoverMovieContentValues();
+            movieValues.putPosition(position);
+            movieValues.putTmdbId(movie.getId());
+            movieValues.putPosterPath(movie.getPosterPath());
+            movieValues.putTitle(movie.getTitle());
+            operations.add(ContentProviderOperation
+                    .newInsert(BaseContentProvider.notify(DiscoverMovieColumns.CONTENT_URI, false))
+                    .withValues(movieValues.values())
+                    .withValueBackReference(DiscoverMovieColumns.DISCOVER_PAGE_ID, pageIndex)
+                    .build());
+        }
+        applyBatch(context, operations);
+    }
+
+    /**
+     * Read the movies on one cached discover page, in order.
+     * They only have what the grid shows: id, poster and title.
+     *
+     * @param pageRowId The page's _id in the discover_page table.
+     */
+    public static List<Movie> getDiscoverMovies(Context context, long pageRowId) {
+        DiscoverMovieSelection movieSelection = new DiscoverMovieSelection();
+        movieSelection.discoverPageId(pageRowId).orderByPosition().explain();
+        String[] projection = {DiscoverMovieColumns.TMDB_ID,
+                DiscoverMovieColumns.POSTER_PATH, DiscoverMovieColumns.TITLE};
+        DiscoverMovieCursor cursor = movieSelection.query(context.getContentResolver(), projection);
+        List<Movie> movies = new ArrayList<>();
+        if (cursor == null)
+            return movies;
+        try {
+            while (cursor.moveToNext()) {
+                movies.add(new Movie(cursor.getTmdbId(), null, null, null, null,
+                        cursor.getPosterPath(), null, null, null, cursor.getTitle(), null, null));
+            }
+        } finally {
+            cursor.close();
+        }
+        return movies;
+    }
+
+    /**
+     * Asks SQLite directly, with a statement that's compiled once and
+     * reused, instead of going through the ContentProvider for a cursor
+     * just to count it.  The provider uses the same MovieSQLiteOpenHelper,
+     * so this sees everything it has committed.
+     * <p/>
+     * It's still disk, so call it off the main thread.  Screens should
+     * use MovieRepository.loadIsFavorite, which usually answers from memory.
+     */
     public static boolean isFavoriteMovie(Context context, int movieId) {
+        synchronized (DatabaseUtils.class) {
+            if (sIsFavoriteStatement == null) {
+                sIsFavoriteStatement = MovieSQLiteOpenHelper.getInstance(context)
+                        .getReadableDatabase()
+                        .compileStatement("SELECT EXISTS (SELECT 1 FROM " + MovieColumns.TABLE_NAME
+                                + " WHERE " + MovieColumns.TMDB_ID + "=?)");
+            }
+            sIsFavoriteStatement.bindLong(1, movieId);
+            return sIsFavoriteStatement.simpleQueryForLong() != 0;
+        }
+    }
+
+    /**
+     * @param rowIds Movie table _ids to look up, or none for every favorite.
+     * @return Tmdb ids of the favorites.
+     */
+    public static Set<Integer> getFavoriteIds(Context context, long... rowIds) {
         MovieSelection movieSelection = new MovieSelection();
-        movieSelection.tmdbId(movieId);
-        String[] projection = {MovieColumns._ID};
+        if (rowIds.length > 0)
+            movieSelection.id(rowIds);
+        String[] projection = {MovieColumns._ID, MovieColumns.TMDB_ID};
         MovieCursor cursor = movieSelection.query(context.getContentResolver(), projection);
-        boolean isFavorite = cursor.getCount() != 0;
-        cursor.close();
-        return isFavorite;
+        Set<Integer> tmdbIds = new HashSet<>();
+        if (cursor == null)
+            return tmdbIds;
+        try {
+            while (cursor.moveToNext())
+                tmdbIds.add(cursor.getTmdbId());
+        } finally {
+            cursor.close();
+        }
+        return tmdbIds;
     }
 
     public static void deleteMovie(Context context,int movieId) {
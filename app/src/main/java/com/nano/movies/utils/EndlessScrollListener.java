@@ -0,0 +1,31 @@
+package com.nano.movies.utils;
+
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+/****************************************************************************
+ * The EndlessScrollListener class watches a RecyclerView's grid and
+ * asks for more items when the last visible item gets within
+ * mThreshold items of the end of the list.
+ */
+public abstract class EndlessScrollListener extends RecyclerView.OnScrollListener {
+    private final int mThreshold;
+
+    public EndlessScrollListener(int threshold) {
+        mThreshold = threshold;
+    }
+
+    public abstract void onLoadMore();
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        //Only care about scrolling down
+        if (dy <= 0)
+            return;
+        GridLayoutManager layoutManager = (GridLayoutManager) recyclerView.getLayoutManager();
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        int itemCount = layoutManager.getItemCount();
+        if (lastVisible + mThreshold >= itemCount)
+            onLoadMore();
+    }
+}
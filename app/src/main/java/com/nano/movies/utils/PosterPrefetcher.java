@@ -0,0 +1,120 @@
+package com.nano.movies.utils;
+
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.nano.movies.adapters.PosterViewHolder;
+import com.nano.movies.web.Tmdb;
+import com.squareup.picasso.Picasso;
+
+/****************************************************************************
+ * The PosterPrefetcher class watches a poster grid scroll and has
+ * Picasso fetch (download and decode into its memory cache) the posters
+ * of the next few rows in the scroll direction, in the same size the
+ * cells ask for, so they're usually ready by the time their cells bind.
+ * <p/>
+ * The faster the grid moves, the more rows it looks ahead.
+ * Reversing direction cancels whatever is still queued for
+ * the old direction, since those rows are moving away.
+ */
+public class PosterPrefetcher extends RecyclerView.OnScrollListener {
+    /**
+     * What the prefetcher needs to know about the grid's adapter.
+     */
+    public interface PosterSource {
+        int getItemCount();
+
+        /**
+         * @return the Tmdb poster path at position, or null if there isn't one.
+         */
+        String getPosterPath(int position);
+    }
+
+    //Always look at least this many rows ahead...
+    private static final int MIN_ROWS_AHEAD = 2;
+    //...and never more than this many.
+    private static final int MAX_ROWS_AHEAD = 6;
+    //Roughly how many frames of scrolling at the current speed
+    //the prefetched rows should cover (~250ms at 60fps).
+    private static final int FRAMES_AHEAD = 15;
+
+    private final PosterSource mSource;
+    //Every fetch is tagged with this, so they can be cancelled together
+    private final Object mTag = new Object();
+    //1 = down, -1 = up, 0 = hasn't scrolled yet
+    private int mDirection = 0;
+    //Furthest position already prefetched in mDirection
+    private int mPrefetchedTo = RecyclerView.NO_POSITION;
+
+    public PosterPrefetcher(PosterSource source) {
+        mSource = source;
+    }
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        if (dy == 0)
+            return;
+        int direction = (dy > 0) ? 1 : -1;
+        if (direction != mDirection) {
+            cancel();
+            mDirection = direction;
+        }
+        GridLayoutManager layoutManager = (GridLayoutManager) recyclerView.getLayoutManager();
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION)
+            return;
+
+        int count = getRowsAhead(layoutManager, dy) * layoutManager.getSpanCount();
+        String posterSize = PosterViewHolder.getPosterSize(recyclerView);
+        if (direction > 0) {
+            int from = Math.max(last + 1, mPrefetchedTo + 1);
+            int to = Math.min(mSource.getItemCount() - 1, last + count);
+            for (int position = from; position <= to; position++)
+                fetch(position, posterSize);
+            mPrefetchedTo = Math.max(mPrefetchedTo, to);
+        } else {
+            int from = (mPrefetchedTo == RecyclerView.NO_POSITION)
+                    ? first - 1 : Math.min(first - 1, mPrefetchedTo - 1);
+            int to = Math.max(0, first - count);
+            for (int position = from; position >= to; position--)
+                fetch(position, posterSize);
+            if (from >= to)
+                mPrefetchedTo = to;
+        }
+    }
+
+    /**
+     * Drop anything still queued, eg., when the grid is
+     * re-sorted or its view is destroyed.
+     */
+    public void cancel() {
+        Picasso.get().cancelTag(mTag);
+        mPrefetchedTo = RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * dy is how far the grid moved this frame, so it's a fair
+     * measure of speed.  Look ahead as many rows as it will cover
+     * in the next FRAMES_AHEAD frames.
+     */
+    private int getRowsAhead(GridLayoutManager layoutManager, int dy) {
+        View cell = layoutManager.getChildAt(0);
+        if (cell == null || cell.getHeight() == 0)
+            return MIN_ROWS_AHEAD;
+        int rows = MIN_ROWS_AHEAD + Math.abs(dy) * FRAMES_AHEAD / cell.getHeight();
+        return Math.min(rows, MAX_ROWS_AHEAD);
+    }
+
+    private void fetch(int position, String posterSize) {
+        String posterPath = mSource.getPosterPath(position);
+        if (posterPath == null)
+            return;
+        Picasso.get()
+                .load(Tmdb.getMoviePosterUrl(posterPath, posterSize))
+                .priority(Picasso.Priority.LOW)
+                .tag(mTag)
+                .fetch();
+    }
+}
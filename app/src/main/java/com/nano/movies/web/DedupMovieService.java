@@ -0,0 +1,152 @@
+/**
+ * Created by Jill Heske
+ * <p/>
+ * Copyright(c) 2015
+ */
+package com.nano.movies.web;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import retrofit.Callback;
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+
+/**
+ * Wraps the Retrofit MovieService proxy so that identical async
+ * requests made while one is already on its way share the same
+ * network call (and the same parsed result).
+ * <p/>
+ * In two-pane mode the grids and MainActivity can all ask
+ * DetailFragment for the same movie at nearly the same time,
+ * eg., on startup or after a rotation.  Only the first request
+ * goes out, later ones just get their callbacks added to it.
+ * <p/>
+ * Requests are keyed by endpoint plus arguments.  A key is removed
+ * as soon as its response arrives, so this is not a cache.
+ * <p/>
+ * Every caller gets the same result object, so callbacks must treat
+ * it as read-only (copy it first if it has to change).  If a callback
+ * throws, the rest are still called, then the first exception is
+ * thrown again.
+ */
+public class DedupMovieService implements MovieService {
+    private final MovieService mMovieService;
+    private final Map<String, SharedCallback<?>> mInFlight = new HashMap<>();
+
+    public DedupMovieService(MovieService movieService) {
+        mMovieService = movieService;
+    }
+
+    @Override
+    public void summary(int tmdbId, String appendToResponse, Callback<Movie> resultsCallback) {
+        String key = "summary/" + tmdbId + "?" + appendToResponse;
+        SharedCallback<Movie> call = join(key, resultsCallback);
+        if (call != null)
+            mMovieService.summary(tmdbId, appendToResponse, call);
+    }
+
+    @Override
+    public Movie summary(int tmdbId, String appendToResponse) {
+        return mMovieService.summary(tmdbId, appendToResponse);
+    }
+
+    @Override
+    public TmdbResults topRated() {
+        return mMovieService.topRated();
+    }
+
+    @Override
+    public TmdbResults topRated(Integer page, String language) {
+        return mMovieService.topRated(page, language);
+    }
+
+    @Override
+    public void discoverMovies(int page, String sort_by, Callback<TmdbResults> resultsCallback) {
+        String key = "discover/" + sort_by + "/" + page;
+        SharedCallback<TmdbResults> call = join(key, resultsCallback);
+        if (call != null)
+            mMovieService.discoverMovies(page, sort_by, call);
+    }
+
+    @Override
+    public void releases(int tmdbId, Callback<Releases> resultsCallback) {
+        String key = "releases/" + tmdbId;
+        SharedCallback<Releases> call = join(key, resultsCallback);
+        if (call != null)
+            mMovieService.releases(tmdbId, call);
+    }
+
+    /**
+     * Add callback to the request already in flight for key.
+     *
+     * @return a new SharedCallback if the caller has to make the
+     * request itself, or null if it's already on its way.
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized <T> SharedCallback<T> join(String key, Callback<T> callback) {
+        SharedCallback<T> call = (SharedCallback<T>) mInFlight.get(key);
+        if (call != null) {
+            call.add(callback);
+            return null;
+        }
+        call = new SharedCallback<>(key);
+        call.add(callback);
+        mInFlight.put(key, call);
+        return call;
+    }
+
+    private synchronized <T> List<Callback<T>> finish(SharedCallback<T> call) {
+        mInFlight.remove(call.mKey);
+        return call.mCallbacks;
+    }
+
+    /**
+     * Hands the one response to every caller that asked for it.
+     */
+    private class SharedCallback<T> implements Callback<T> {
+        private final String mKey;
+        private final List<Callback<T>> mCallbacks = new ArrayList<>(1);
+
+        SharedCallback(String key) {
+            mKey = key;
+        }
+
+        void add(Callback<T> callback) {
+            mCallbacks.add(callback);
+        }
+
+        @Override
+        public void success(T result, Response response) {
+            List<Callback<T>> callbacks = finish(this);
+            RuntimeException thrown = null;
+            for (Callback<T> callback : callbacks) {
+                try {
+                    callback.success(result, response);
+                } catch (RuntimeException e) {
+                    if (thrown == null)
+                        thrown = e;
+                }
+            }
+            if (thrown != null)
+                throw thrown;
+        }
+
+        @Override
+        public void failure(RetrofitError error) {
+            RuntimeException thrown = null;
+            for (Callback<T> callback : finish(this)) {
+                try {
+                    callback.failure(error);
+                } catch (RuntimeException e) {
+                    if (thrown == null)
+                        thrown = e;
+                }
+            }
+            if (thrown != null)
+                throw thrown;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Created by Jill Heske
+ * <p/>
+ * Copyright(c) 2015
+ */
+package com.nano.movies.web;
+
+import java.util.List;
+
+import retrofit.Callback;
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+
+/**
+ * Streams discover/movie result pages on demand.
+ * <p/>
+ * Each time a page is handed to the listener, the next one
+ * is requested right away in the background and held until the
+ * grid scrolls close enough to the end to ask for it, so
+ * usually the next page is already sitting here when it's needed.
+ * <p/>
+ * Retrofit delivers callbacks on the main thread, so none of
+ * the state below needs to be synchronized.
+ */
+public class DiscoverPager {
+    public interface PageListener {
+        void onPageLoaded(List<Movie> movies, int page, int totalPages);
+
+        void onPageFailed(int page, RetrofitError error);
+    }
+
+    /**
+     * Somewhere to keep every page as it arrives,
+     * so the list can be shown again without the network.
+     */
+    public interface PageStore {
+        void storePage(String sortBy, TmdbResults results);
+    }
+
+    private final MovieService mMovieService;
+    private final String mSortBy;
+    private final PageStore mPageStore;
+    private PageListener mListener;
+
+    //Last page handed to the listener, 0 if none yet.
+    private int mLastPage = 0;
+    private int mTotalPages = Integer.MAX_VALUE;
+    //Page fetched ahead of time, waiting to be asked for.
+    private TmdbResults mPrefetched;
+    private boolean mIsFetching = false;
+    //Listener asked for a page that hasn't arrived yet.
+    private boolean mIsDeliveryPending = false;
+
+    /**
+     * @param pageStore Where to keep pages as they arrive, or null.
+     */
+    public DiscoverPager(MovieService movieService, String sortBy, PageStore pageStore) {
+        mMovieService = movieService;
+        mSortBy = sortBy;
+        mPageStore = pageStore;
+    }
+
+    public void setPageListener(PageListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Pick up where a previous pager left off, eg., after
+     * the movie list was restored from a saved state.
+     */
+    public void restore(int lastPage, int totalPages) {
+        mLastPage = lastPage;
+        mTotalPages = totalPages;
+    }
+
+    public int getLastPage() {
+        return mLastPage;
+    }
+
+    public int getTotalPages() {
+        return mTotalPages;
+    }
+
+    public boolean hasMorePages() {
+        return mLastPage < mTotalPages;
+    }
+
+    public boolean isLoading() {
+        return mIsDeliveryPending;
+    }
+
+    /**
+     * Ask for the page after the last one delivered.
+     * If it was already prefetched it's delivered immediately,
+     * otherwise it's delivered as soon as it arrives.
+     * Calling this again while a page is pending does nothing.
+     */
+    public void loadNextPage() {
+        if (!hasMorePages() || mIsDeliveryPending)
+            return;
+        if (mPrefetched != null) {
+            deliver(mPrefetched);
+            return;
+        }
+        mIsDeliveryPending = true;
+        if (!mIsFetching)
+            fetch(mLastPage + 1);
+    }
+
+    private void fetch(final int page) {
+        mIsFetching = true;
+        mMovieService.discoverMovies(page, mSortBy, new Callback<TmdbResults>() {
+            @Override
+            public void success(TmdbResults results, Response response) {
+                mIsFetching = false;
+                mPrefetched = results;
+                if (mPageStore != null)
+                    mPageStore.storePage(mSortBy, results);
+                if (mIsDeliveryPending) {
+                    mIsDeliveryPending = false;
+                    deliver(results);
+                }
+            }
+
+            //Errors are handled by an ApiErrorHandler,
+            //set in Tmdb.RestAdapter.Builder.setErrorHandler
+            @Override
+            public void failure(RetrofitError error) {
+                mIsFetching = false;
+                if (mIsDeliveryPending) {
+                    mIsDeliveryPending = false;
+                    if (mListener != null)
+                        mListener.onPageFailed(page, error);
+                }
+            }
+        });
+    }
+
+    private void deliver(TmdbResults results) {
+        mPrefetched = null;
+        mLastPage = (results.page == null) ? mLastPage + 1 : results.page;
+        if (results.total_pages != null)
+            mTotalPages = results.total_pages;
+        if (mListener != null)
+            mListener.onPageLoaded(results.results, mLastPage, mTotalPages);
+        //Warm up the following page while the user
+        //is still looking at this one.
+        if (hasMorePages())
+            fetch(mLastPage + 1);
+    }
+}
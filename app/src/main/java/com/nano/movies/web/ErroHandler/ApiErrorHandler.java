@@ -23,25 +23,42 @@ public class ApiErrorHandler implements ErrorHandler {
 
     @Override
     public Throwable handleError(RetrofitError cause) {
-        if (cause != null) {
-            switch (cause.getKind()) {
-                case NETWORK:
-                    return new NetworkBroadcastedException(mContext, cause);
-                default:
-                    Response r = cause.getResponse();
-                    if (r == null) return cause;
-                    if (r.getStatus() == 401) {
-                        return new UnauthorizedBroadcastedException(mContext, cause);
-                    } else if (r.getStatus() == 403) {
-                        return new ForbiddenBroadcastedException(mContext, cause);
-                    } else if (r.getStatus() >= 500) {
-                        return new InternalServerErrorBroadcastedException(mContext, cause);
-                    } else if (r.getStatus() == 404) {
-                        Log.e(TAG, "error 404");
-                        return cause;
-                    }
-            }
+        switch (getExceptionType(cause)) {
+            case NETWORK:
+                return new NetworkBroadcastedException(mContext, cause);
+            case UNAUTHORIZED:
+                return new UnauthorizedBroadcastedException(mContext, cause);
+            case FORBIDDEN:
+                return new ForbiddenBroadcastedException(mContext, cause);
+            case INTERNAL_SERVER:
+                return new InternalServerErrorBroadcastedException(mContext, cause);
+            default:
+                Response r = (cause == null) ? null : cause.getResponse();
+                if (r != null && r.getStatus() == 404)
+                    Log.e(TAG, "error 404");
+                return cause;
         }
-        return cause;
+    }
+
+    /**
+     * What kind of error this is, without broadcasting it.
+     * Background work (eg., FavoritesSyncService) uses this
+     * to decide whether to retry.
+     */
+    public static BroadcastedException.EXCEPTION_TYPE getExceptionType(RetrofitError cause) {
+        if (cause == null)
+            return BroadcastedException.EXCEPTION_TYPE.UNKNOWN;
+        if (cause.getKind() == RetrofitError.Kind.NETWORK)
+            return BroadcastedException.EXCEPTION_TYPE.NETWORK;
+        Response r = cause.getResponse();
+        if (r == null)
+            return BroadcastedException.EXCEPTION_TYPE.UNKNOWN;
+        if (r.getStatus() == 401)
+            return BroadcastedException.EXCEPTION_TYPE.UNAUTHORIZED;
+        if (r.getStatus() == 403)
+            return BroadcastedException.EXCEPTION_TYPE.FORBIDDEN;
+        if (r.getStatus() >= 500)
+            return BroadcastedException.EXCEPTION_TYPE.INTERNAL_SERVER;
+        return BroadcastedException.EXCEPTION_TYPE.UNKNOWN;
     }
 }
\ No newline at end of file
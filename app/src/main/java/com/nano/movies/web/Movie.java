@@ -45,8 +45,10 @@ public class Movie implements Parcelable {
     private Double mPopularity;
     @SerializedName("poster_path")
     private String mPosterPath;
-    @SerializedName("release_date")
-    private Date mReleaseDate;
+    // Days since 1970-01-01, or ReleaseDates.NONE.
+    // Not a json field, the api's "release_date" is a "yyyy-MM-dd"
+    // string, which TmdbTypeAdapterFactory parses into this.
+    private transient long mReleaseEpochDay = ReleaseDates.NONE;
     @SerializedName("runtime")
     private Integer mRuntime;
     @SerializedName("tagline")
@@ -65,6 +67,8 @@ public class Movie implements Parcelable {
     // Used with append_to_response=reviews
     @SerializedName("reviews")
     private Reviews mReviews;
+    // Used with append_to_response=releases
+    @SerializedName("releases")
     private Releases mReleases;
     private final String TAG = getClass().getSimpleName();
 
@@ -82,7 +86,8 @@ public class Movie implements Parcelable {
         mOverview = movieCursor.getOverview();
         mPopularity = movieCursor.getPopularity();
         mPosterPath = movieCursor.getPosterPath();
-        mReleaseDate = movieCursor.getReleaseDate();
+        mReleaseEpochDay = ReleaseDates.fromMillis(
+                movieCursor.getReleaseDateMillis(ReleaseDates.NONE));
         mRuntime = movieCursor.getRuntime();
         mTagline = movieCursor.getTagline();
         mTitle = movieCursor.getTitle();
@@ -107,7 +112,8 @@ public class Movie implements Parcelable {
         this.mOverview = overview;
         this.mPopularity = popularity;
         this.mPosterPath = posterPath;
-        this.mReleaseDate = releaseDate;
+        if (releaseDate != null)
+            this.mReleaseEpochDay = ReleaseDates.fromMillis(releaseDate.getTime());
         this.mRuntime = runtime;
         this.mTagline = tagline;
         this.mTitle = title;
@@ -171,12 +177,37 @@ public class Movie implements Parcelable {
         this.mPosterPath = mPosterPath;
     }
 
+    /**
+     * Allocates a new Date each time, use getReleaseEpochDay
+     * or getReleaseDateMillis where that's enough.
+     */
     public Date getReleaseDate() {
-        return mReleaseDate;
+        if (mReleaseEpochDay == ReleaseDates.NONE)
+            return null;
+        return new Date(ReleaseDates.toMillis(mReleaseEpochDay));
+    }
+
+    public void setReleaseDate(Date releaseDate) {
+        mReleaseEpochDay = (releaseDate == null)
+                ? ReleaseDates.NONE : ReleaseDates.fromMillis(releaseDate.getTime());
+    }
+
+    public long getReleaseEpochDay() {
+        return mReleaseEpochDay;
+    }
+
+    public void setReleaseEpochDay(long releaseEpochDay) {
+        mReleaseEpochDay = releaseEpochDay;
     }
 
-    public void setReleaseDate(Date mReleaseDate) {
-        this.mReleaseDate = mReleaseDate;
+    /**
+     * @return local midnight of the release date, the way
+     * it's stored in the database, or null if there isn't one.
+     */
+    public Long getReleaseDateMillis() {
+        if (mReleaseEpochDay == ReleaseDates.NONE)
+            return null;
+        return ReleaseDates.toMillis(mReleaseEpochDay);
     }
 
     public void setReleases(Releases releases) {
@@ -223,6 +254,10 @@ public class Movie implements Parcelable {
         return mVoteCount;
     }
 
+    public void setGenres(List<Genre> genres) {
+        mGenres = genres;
+    }
+
     //Just get the first one in the list, good enough
     public String getGenres() {
         if (mGenres == null)
@@ -241,6 +276,10 @@ public class Movie implements Parcelable {
         return mTrailers;
     }
 
+    public void setTrailers(Trailers trailers) {
+        mTrailers = trailers;
+    }
+
     public int getReviewCount() {
         return mReviews.getCount();
     }
@@ -249,6 +288,10 @@ public class Movie implements Parcelable {
         return mReviews;
     }
 
+    public void setReviews(Reviews reviews) {
+        mReviews = reviews;
+    }
+
 
     /**
      * Private constructor provided for the CREATOR interface, which
@@ -266,7 +309,7 @@ public class Movie implements Parcelable {
         mOverview = in.readString();
         mPopularity = in.readDouble();
         mPosterPath = in.readString();
-        mReleaseDate = new Date(in.readLong());
+        mReleaseEpochDay = in.readLong();
         try {
             mRuntime = in.readInt();
         } catch (IllegalArgumentException x) {
@@ -279,6 +322,7 @@ public class Movie implements Parcelable {
         in.readTypedList(mGenres, Genre.CREATOR);
         mTrailers = in.readParcelable(Trailers.class.getClassLoader());
         mReviews = in.readParcelable(Reviews.class.getClassLoader());
+        mReleases = in.readParcelable(Releases.class.getClassLoader());
     }
 
     /**
@@ -295,9 +339,9 @@ public class Movie implements Parcelable {
         dest.writeString(mBackdropPath);
         dest.writeString(mOriginalTitle);
         dest.writeString(mOverview);
-        dest.writeDouble(mPopularity);
+        dest.writeDouble((mPopularity == null) ? 0 : mPopularity);
         dest.writeString(mPosterPath);
-        dest.writeLong((mReleaseDate == null) ? 0 : mReleaseDate.getTime());
+        dest.writeLong(mReleaseEpochDay);
         dest.writeInt((mRuntime == null) ? 0 : mRuntime);
         dest.writeString(mTagline);
         dest.writeString(mTitle);
@@ -306,6 +350,7 @@ public class Movie implements Parcelable {
         dest.writeTypedList(mGenres);
         dest.writeParcelable(mTrailers, flags);
         dest.writeParcelable(mReviews, flags);
+        dest.writeParcelable(mReleases, flags);
     }
 
     /**
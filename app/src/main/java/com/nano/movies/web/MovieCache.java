@@ -0,0 +1,65 @@
+/**
+ * Created by Jill Heske
+ * <p/>
+ * Copyright(c) 2015
+ */
+package com.nano.movies.web;
+
+import android.os.SystemClock;
+import android.support.v4.util.LruCache;
+
+/**
+ * Process-wide cache of fully downloaded movies (with their
+ * trailers, reviews and releases), keyed by Tmdb id.
+ * <p/>
+ * Only the most recently used MAX_MOVIES are kept, and an entry
+ * is dropped once it is older than TTL_MILLIS so vote counts
+ * and reviews don't go stale forever.
+ * <p/>
+ * LruCache is thread-safe, so this is too.
+ */
+public class MovieCache {
+    private static final int MAX_MOVIES = 40;
+    private static final long TTL_MILLIS = 30 * 60 * 1000;
+
+    private final LruCache<Integer, Entry> mCache = new LruCache<>(MAX_MOVIES);
+
+    private static class Entry {
+        final Movie mMovie;
+        final long mCachedAt;
+
+        Entry(Movie movie, long cachedAt) {
+            mMovie = movie;
+            mCachedAt = cachedAt;
+        }
+    }
+
+    /**
+     * @return the cached movie, or null if it isn't
+     * cached or has expired.
+     */
+    public Movie get(int tmdbId) {
+        Entry entry = mCache.get(tmdbId);
+        if (entry == null)
+            return null;
+        if (SystemClock.elapsedRealtime() - entry.mCachedAt > TTL_MILLIS) {
+            mCache.remove(tmdbId);
+            return null;
+        }
+        return entry.mMovie;
+    }
+
+    public void put(Movie movie) {
+        if (movie == null || movie.getId() == null)
+            return;
+        mCache.put(movie.getId(), new Entry(movie, SystemClock.elapsedRealtime()));
+    }
+
+    public void remove(int tmdbId) {
+        mCache.remove(tmdbId);
+    }
+
+    public void clear() {
+        mCache.evictAll();
+    }
+}
@@ -27,6 +27,8 @@ public interface MovieService {
     String REVIEWS = "reviews";
     String RELEASES_AND_TRAILERS = "releases,trailers";
     String REVIEWS_AND_TRAILERS = "reviews,trailers";
+    //Everything the detail screen needs, in one round trip
+    String REVIEWS_TRAILERS_AND_RELEASES = "reviews,trailers,releases";
 
     /**
      * Get basic movie information for specific movie.
@@ -40,6 +42,16 @@ public interface MovieService {
             Callback<Movie> resultsCallback
     );
 
+    /**
+     * Same as above, but blocks until the movie arrives.
+     * For background work only, never the main thread.
+     */
+    @GET("/movie/{id}")
+    Movie summary(
+            @Path("id") int tmdbId,
+            @Query("append_to_response") String appendToResponse
+    );
+
     /**
      * Get list of top-rated movies (10 or more votes)
      */
@@ -0,0 +1,88 @@
+/**
+ * Created by Jill Heske
+ * <p/>
+ * Copyright(c) 2015
+ */
+package com.nano.movies.web;
+
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.picasso.Downloader;
+
+import java.io.IOException;
+
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Lets Picasso download images with the app's OkHttp 2 client,
+ * so posters and thumbnails share the api client's disk cache,
+ * connection pool and offline interceptor.
+ * <p/>
+ * Picasso 2.71828 only speaks okhttp3, which is a different library
+ * from the OkHttp 2 that Retrofit 1.9 needs, so requests and
+ * responses are copied across here.  The body is streamed, not copied.
+ */
+public class OkHttp2Downloader implements Downloader {
+    private final OkHttpClient mClient;
+
+    public OkHttp2Downloader(OkHttpClient client) {
+        mClient = client;
+    }
+
+    @Override
+    public Response load(Request request) throws IOException {
+        com.squareup.okhttp.Request.Builder builder = new com.squareup.okhttp.Request.Builder()
+                .url(request.url().toString());
+        //Picasso asks for cache-only/no-cache through Cache-Control
+        Headers headers = request.headers();
+        for (int i = 0; i < headers.size(); i++)
+            builder.addHeader(headers.name(i), headers.value(i));
+
+        com.squareup.okhttp.Response response = mClient.newCall(builder.build()).execute();
+        Protocol protocol = Protocol.get(response.protocol().toString());
+        Response.Builder result = new Response.Builder()
+                .request(request)
+                .protocol(protocol)
+                .code(response.code())
+                .message(response.message())
+                .headers(copyHeaders(response.headers()))
+                .body(copyBody(response.body()));
+        //Picasso counts a response with no cacheResponse as a download,
+        //so only report one when the network wasn't touched at all.
+        if (response.cacheResponse() != null && response.networkResponse() == null) {
+            result.cacheResponse(new Response.Builder()
+                    .request(request)
+                    .protocol(protocol)
+                    .code(response.code())
+                    .message(response.message())
+                    .build());
+        }
+        return result.build();
+    }
+
+    /**
+     * The client belongs to Tmdb and outlives Picasso.
+     */
+    @Override
+    public void shutdown() {
+    }
+
+    private static Headers copyHeaders(com.squareup.okhttp.Headers headers) {
+        Headers.Builder builder = new Headers.Builder();
+        for (int i = 0; i < headers.size(); i++)
+            builder.add(headers.name(i), headers.value(i));
+        return builder.build();
+    }
+
+    private static ResponseBody copyBody(com.squareup.okhttp.ResponseBody body) throws IOException {
+        com.squareup.okhttp.MediaType contentType = body.contentType();
+        return ResponseBody.create(
+                (contentType == null) ? null : MediaType.parse(contentType.toString()),
+                body.contentLength(),
+                body.source());
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Created by Jill Heske
+ * <p/>
+ * Copyright(c) 2015
+ */
+package com.nano.movies.web;
+
+import java.util.TimeZone;
+
+/**
+ * Tmdb release dates are always "yyyy-MM-dd", so there's no need for
+ * a SimpleDateFormat (which isn't thread-safe, and throws a ParseException
+ * for every empty "" date the api sends).  These parse the characters
+ * directly into an epoch day, a plain long counting days since 1970-01-01.
+ * <p/>
+ * Nothing here keeps any state, so it's safe to call from
+ * Retrofit's threads while several pages are decoded at once.
+ */
+public final class ReleaseDates {
+    /**
+     * Epoch day meaning "no release date".
+     */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    //Days from 0000-03-01 to 1970-01-01, see daysFromCivil
+    private static final long DAYS_0000_TO_1970 = 719468;
+    private static final long DAYS_PER_400_YEARS = 146097;
+
+    private ReleaseDates() {
+    }
+
+    /**
+     * @return the epoch day of a "yyyy-MM-dd" date, or NONE
+     * if it's null, empty or not a real date.  Never throws.
+     */
+    public static long parseEpochDay(CharSequence date) {
+        if (date == null || date.length() != 10
+                || date.charAt(4) != '-' || date.charAt(7) != '-')
+            return NONE;
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 7);
+        int day = digits(date, 8, 10);
+        if (year < 0 || month < 1 || month > 12
+                || day < 1 || day > daysInMonth(year, month))
+            return NONE;
+        return daysFromCivil(year, month, day);
+    }
+
+    /**
+     * @return "yyyy-MM-dd", or null for NONE.
+     */
+    public static String format(long epochDay) {
+        if (epochDay == NONE)
+            return null;
+        long civil = civilFromDays(epochDay);
+        int year = (int) (civil >> 16);
+        int month = (int) (civil >> 8) & 0xff;
+        int day = (int) civil & 0xff;
+        char[] chars = new char[10];
+        putDigits(chars, 0, 4, year);
+        chars[4] = '-';
+        putDigits(chars, 5, 7, month);
+        chars[7] = '-';
+        putDigits(chars, 8, 10, day);
+        return new String(chars);
+    }
+
+    /**
+     * Release dates are stored in the database as the millis
+     * of local midnight, which is what the old SimpleDateFormat
+     * parsing produced, so existing favorites still line up.
+     */
+    public static long toMillis(long epochDay) {
+        if (epochDay == NONE)
+            return NONE;
+        TimeZone timeZone = TimeZone.getDefault();
+        long utcMillis = epochDay * MILLIS_PER_DAY;
+        //The offset at local midnight can differ from the one at
+        //utc midnight if a DST change falls in between.  If midnight
+        //was skipped by DST, the first instant of the day is used instead.
+        long guess = utcMillis - timeZone.getOffset(utcMillis);
+        long millis = utcMillis - timeZone.getOffset(guess);
+        return (fromMillis(millis) == epochDay) ? millis : guess;
+    }
+
+    /**
+     * @see #toMillis(long)
+     */
+    public static long fromMillis(long millis) {
+        if (millis == NONE)
+            return NONE;
+        long localMillis = millis + TimeZone.getDefault().getOffset(millis);
+        return floorDiv(localMillis, MILLIS_PER_DAY);
+    }
+
+    /**
+     * @return the number at [start, end) or -1 if it isn't all digits.
+     */
+    private static int digits(CharSequence chars, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = chars.charAt(i) - '0';
+            if (digit < 0 || digit > 9)
+                return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void putDigits(char[] chars, int start, int end, int value) {
+        for (int i = end - 1; i >= start; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean isLeap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+                return isLeap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Howard Hinnant's days_from_civil, counting years from
+     * March so the leap day falls at the end of the year.
+     * http://howardhinnant.github.io/date_algorithms.html
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = (month <= 2) ? year - 1 : year;
+        long era = floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_400_YEARS + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * The inverse of daysFromCivil.
+     *
+     * @return year << 16 | month << 8 | day, so nothing is allocated.
+     */
+    private static long civilFromDays(long epochDay) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = floorDiv(z, DAYS_PER_400_YEARS);
+        long dayOfEra = z - era * DAYS_PER_400_YEARS;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524
+                - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp + (mp < 10 ? 3 : -9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 16 | month << 8 | day;
+    }
+
+    //Math.floorDiv is Java 8
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0))
+            q--;
+        return q;
+    }
+}
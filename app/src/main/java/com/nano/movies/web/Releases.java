@@ -2,6 +2,7 @@ package com.nano.movies.web;
 
 import android.os.Parcel;
 import android.os.Parcelable;
+import android.text.TextUtils;
 
 import com.google.gson.annotations.SerializedName;
 
@@ -10,21 +11,94 @@ import java.util.List;
 
 /**
  * Created by jill on 9/6/2015.
+ * <p/>
+ * Certifications are looked up by country a lot (every time the
+ * details are shown), so once the list is read an index is built
+ * from each two-letter ISO 3166-1 code to its place in the list,
+ * and a lookup is just an array access.
  */
 public class Releases implements Parcelable {
+    private static final String NO_RATING = "No rating";
+    //"AA".."ZZ" pack into 0..675
+    private static final int COUNTRY_CODES = 26 * 26;
+
     @SerializedName("countries")
     private List<Release> mCountries = new ArrayList<>();
+    //Position in mCountries + 1 for each packed country code, 0 = none.
+    //Releases past Short.MAX_VALUE aren't indexed, getRelease scans for those.
+    private transient short[] mCountryIndex;
+
+    public Releases(List<Release> countries) {
+        mCountries = (countries == null) ? new ArrayList<Release>() : countries;
+        buildCountryIndex();
+    }
 
     public int getCount() {
         return (mCountries.size());
     }
 
     public String getMpaaRating(String country) {
-        for (Release release: mCountries) {
-            if (release.mCountryName.equals(country))
-              return (release.getCertification());
+        Release release = getRelease(country);
+        if (release == null)
+            return NO_RATING;
+        return release.getCertification();
+    }
+
+    /**
+     * The rating from the first of the preferred countries that has one,
+     * eg., getMpaaRating("US", "GB", "CA").
+     */
+    public String getMpaaRating(String... preferredCountries) {
+        for (String country : preferredCountries) {
+            Release release = getRelease(country);
+            if (release != null && !TextUtils.isEmpty(release.getCertification()))
+                return release.getCertification();
         }
-        return "No rating";
+        return NO_RATING;
+    }
+
+    /**
+     * @return the first release for country, or null if there isn't one.
+     */
+    private Release getRelease(String country) {
+        int code = packCountryCode(country);
+        if (code < 0)
+            return null;
+        int position = mCountryIndex[code];
+        if (position != 0)
+            return mCountries.get(position - 1);
+        for (int i = Short.MAX_VALUE; i < mCountries.size(); i++) {
+            if (country.equals(mCountries.get(i).mCountryName))
+                return mCountries.get(i);
+        }
+        return null;
+    }
+
+    /**
+     * First one wins if a country is listed twice,
+     * same as the linear search this replaced.
+     */
+    private void buildCountryIndex() {
+        mCountryIndex = new short[COUNTRY_CODES];
+        int count = Math.min(mCountries.size(), Short.MAX_VALUE);
+        for (int i = 0; i < count; i++) {
+            int code = packCountryCode(mCountries.get(i).mCountryName);
+            if (code >= 0 && mCountryIndex[code] == 0)
+                mCountryIndex[code] = (short) (i + 1);
+        }
+    }
+
+    /**
+     * @return 0..675 for "AA".."ZZ", or -1 if it isn't a two-letter code.
+     */
+    private static int packCountryCode(String country) {
+        if (country == null || country.length() != 2)
+            return -1;
+        int first = country.charAt(0) - 'A';
+        int second = country.charAt(1) - 'A';
+        if (first < 0 || first >= 26 || second < 0 || second >= 26)
+            return -1;
+        return first * 26 + second;
     }
 
     @Override
@@ -72,8 +146,8 @@ public class Releases implements Parcelable {
         }
 
         private Release(Parcel in) {
-            in.readString();
-            in.readString();
+            mCountryName = in.readString();
+            mCertification = in.readString();
         }
 
         public static final Parcelable.Creator<Release> CREATOR =
@@ -95,6 +169,7 @@ public class Releases implements Parcelable {
 
     private Releases(Parcel in) {
         in.readTypedList(mCountries,Release.CREATOR);
+        buildCountryIndex();
     }
 
     public static final Parcelable.Creator<Releases> CREATOR =
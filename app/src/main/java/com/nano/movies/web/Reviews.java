@@ -17,6 +17,10 @@ public class Reviews implements Parcelable {
     @SerializedName("results")
     private List<Review> mResults = new ArrayList<Review>();
 
+    public Reviews(List<Review> results) {
+        mResults = results;
+    }
+
     public List<Review> getResults() {
         return mResults;
     }
@@ -5,20 +5,22 @@
  */
 package com.nano.movies.web;
 
+import android.app.ActivityManager;
 import android.app.Application;
+import android.graphics.Bitmap;
 import android.util.Log;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.File;
 import java.lang.reflect.Type;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 
 //import com.nano.movies.utils.ApiKey;
@@ -27,13 +29,24 @@ import java.io.IOException;
 
 import retrofit.RequestInterceptor;
 import retrofit.RestAdapter;
+import retrofit.client.OkClient;
 import retrofit.converter.ConversionException;
 import retrofit.converter.GsonConverter;
 import retrofit.mime.TypedInput;
 
+import com.nano.movies.data.FavoritesSyncService;
+import com.nano.movies.data.MovieRepository;
 import com.nano.movies.utils.Utils;
 import com.nano.movies.web.ErroHandler.ApiErrorHandler;
+import com.squareup.okhttp.Cache;
+import com.squareup.okhttp.CacheControl;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.picasso.LruCache;
 import com.squareup.picasso.Picasso;
+import com.squareup.picasso.StatsSnapshot;
 
 
 /**
@@ -54,9 +67,30 @@ public class Tmdb extends Application {
      */
     private static final String MOVIE_SERVICE_URL = "https://api.themoviedb.org/3";
     /**
-     * Format for decoding JSON dates in string format.
+     * On-disk HTTP response cache, in the app's cache directory
+     * so Android can reclaim it if the device runs low on space.
+     * Posters and trailer thumbnails go through it too, so it's
+     * sized for images, not just json.
      */
-    private static final SimpleDateFormat JSON_STRING_DATE = new SimpleDateFormat("yyy-MM-dd");
+    private static final String HTTP_CACHE_DIR = "http";
+    private static final long HTTP_CACHE_SIZE = 50 * 1024 * 1024;
+    /**
+     * Share of the app's heap Picasso may keep decoded bitmaps in.
+     * Posters are decoded RGB_565, so that's twice as many posters
+     * as Picasso's ARGB_8888 default would fit.
+     */
+    private static final int IMAGE_MEMORY_CACHE_DIVISOR = 8;
+    /**
+     * How long an api response is served from the cache without
+     * going back to the server, when the server doesn't say.
+     * After that OkHttp revalidates it with If-None-Match/If-Modified-Since.
+     */
+    private static final int HTTP_CACHE_MAX_AGE_SECONDS = 10 * 60;
+    /**
+     * How old a cached response may be and still be shown
+     * when there is no network at all.
+     */
+    private static final int HTTP_CACHE_MAX_STALE_DAYS = 7;
 
     /**
      * API key query parameter name.
@@ -69,8 +103,13 @@ public class Tmdb extends Application {
     private static final String PARAM_API_KEY = "api_key";
     private boolean isDebug;
     private RestAdapter mRestAdapter;
+    private OkHttpClient mHttpClient;
+    private Picasso mPicasso;
+    private LruCache mImageMemoryCache;
     private MovieService mMovieService;
-    private boolean mIsNetworkAvailable=false;
+    private MovieService mSyncMovieService;
+    private final MovieCache mMovieCache = new MovieCache();
+    private MovieRepository mMovieRepository;
 
 
     /**
@@ -88,6 +127,31 @@ public class Tmdb extends Application {
     public static final String IMAGE_POSTER_LARGE = "w500";
     public static final String IMAGE_POSTER_XLARGE = "w780";
 
+    /**
+     * Poster sizes above, smallest first, with their widths in pixels.
+     */
+    private static final String[] POSTER_SIZES = new String[]{
+            IMAGE_POSTER_XSMALL, IMAGE_POSTER_SMALL, IMAGE_POSTER_MED,
+            IMAGE_POSTER_LARGE, IMAGE_POSTER_XLARGE};
+    private static final int[] POSTER_WIDTHS = new int[]{92, 185, 342, 500, 780};
+
+    /**
+     * Pick the smallest poster size that is at least as wide as the
+     * cell it's shown in, so we don't download (and decode) more pixels
+     * than the screen can show.  Cells wider than w780 get w780.
+     *
+     * @param cellWidthPx Cell width in physical pixels, 0 if not known yet.
+     */
+    public static String getPosterSize(int cellWidthPx) {
+        if (cellWidthPx <= 0)
+            return IMAGE_POSTER_MED;
+        for (int i = 0; i < POSTER_WIDTHS.length; i++) {
+            if (POSTER_WIDTHS[i] >= cellWidthPx)
+                return POSTER_SIZES[i];
+        }
+        return IMAGE_POSTER_XLARGE;
+    }
+
     public static String getYoutubeUrl(String source) {
         return ("http://www.youtube.com/watch?v=" + source);
     }
@@ -113,25 +177,67 @@ public class Tmdb extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
-        mIsNetworkAvailable = Utils.isNetworkAvailable(getApplicationContext());
+        setupHttpClient();
         setupRestAdapter();
-    //    setupPicasso();
+        setupPicasso();
+        mMovieRepository = new MovieRepository(this, mMovieService, mMovieCache);
+        FavoritesSyncService.schedule(this);
+    }
+
+    /**
+     * Decoded bitmaps are the first thing worth giving back.
+     * They come back from the disk cache quickly enough.
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (isDebug)
+            Log.d(TAG, getImageStats());
+        if (level >= TRIM_MEMORY_MODERATE)
+            mImageMemoryCache.clear();
+        mMovieRepository.onTrimMemory(level);
     }
 
+    /**
+     * Asked fresh every time, connections come and go.
+     */
     public boolean isNetworkAvailable() {
-        return mIsNetworkAvailable;
+        return Utils.isNetworkAvailable(getApplicationContext());
+    }
+
+    /**
+     * Give Retrofit an OkHttp client with a bounded disk cache.
+     * OkHttp takes care of ETag/Last-Modified revalidation on its own,
+     * the interceptors only fill in caching rules TMDB leaves out
+     * and fall back to stale responses when we're offline.
+     */
+    private void setupHttpClient() {
+        mHttpClient = new OkHttpClient();
+        File cacheDir = new File(getCacheDir(), HTTP_CACHE_DIR);
+        mHttpClient.setCache(new Cache(cacheDir, HTTP_CACHE_SIZE));
+        mHttpClient.interceptors().add(new OfflineCacheInterceptor());
+        mHttpClient.networkInterceptors().add(new CacheControlInterceptor());
+    }
+
+    /**
+     * Shared by anything else that talks http, so
+     * everything goes through the same cache and connection pool.
+     */
+    public OkHttpClient getHttpClient() {
+        return mHttpClient;
     }
 
     private void setupRestAdapter() {
         Gson gson = new GsonBuilder()
                 .setDateFormat("yyyy-MM-dd")
-                .registerTypeAdapter(Date.class, new JsonDateDeserializer())
+                .registerTypeAdapter(Date.class, new JsonDateAdapter())
+                .registerTypeAdapterFactory(new TmdbTypeAdapterFactory())
                 .create();
 
         RestAdapter.Builder builder = restAdapterBuilder()
+                .setClient(new OkClient(mHttpClient))
                 .setConverter(new GsonConverter(gson))
                 .setEndpoint(MOVIE_SERVICE_URL)
-                .setErrorHandler(new ApiErrorHandler(getApplicationContext()))
                 .setRequestInterceptor(new RequestInterceptor() {
                     // Add API_KEY to every API request
                     // Always request releases and trailers
@@ -172,11 +278,17 @@ public class Tmdb extends Application {
                         requestFacade.addQueryParam(PARAM_API_KEY, "ce554ff7189861a8ef07517840922909");
                     }
                 });
+        //Background work gets its own adapter without the ApiErrorHandler,
+        //so its errors come back as plain RetrofitErrors instead of being
+        //broadcast to whatever screen happens to be showing.
+        mSyncMovieService = builder.build().create(MovieService.class);
+        builder.setErrorHandler(new ApiErrorHandler(getApplicationContext()));
         if (isDebug) {
             builder.setLogLevel(RestAdapter.LogLevel.FULL);
         }
         mRestAdapter = builder.build();
-        mMovieService = mRestAdapter.create(MovieService.class);
+        //Callers asking for the same thing at the same time share one request
+        mMovieService = new DedupMovieService(mRestAdapter.create(MovieService.class));
     }
 
     /**
@@ -191,6 +303,30 @@ public class Tmdb extends Application {
         return mMovieService;
     }
 
+    /**
+     * Blocking calls for background threads, eg., FavoritesSyncService.
+     * Errors are thrown as RetrofitErrors and not broadcast,
+     * use ApiErrorHandler.getExceptionType to sort them out.
+     */
+    public MovieService getSyncMovieService() {
+        return mSyncMovieService;
+    }
+
+    /**
+     * Recently downloaded movies, shared by every
+     * Activity and Fragment in the app.
+     */
+    public MovieCache getMovieCache() {
+        return mMovieCache;
+    }
+
+    /**
+     * Where screens get their movies from, local first.
+     */
+    public MovieRepository getMovieRepository() {
+        return mMovieRepository;
+    }
+
     /**
      * Set RestAdapter log level.
      *
@@ -202,31 +338,110 @@ public class Tmdb extends Application {
             mRestAdapter.setLogLevel(isDebug ? RestAdapter.LogLevel.FULL
                     : RestAdapter.LogLevel.NONE);
         }
+        if (mPicasso != null)
+            mPicasso.setIndicatorsEnabled(isDebug);
     }
 
-/*    private void setupPicasso() {
-        Picasso.Builder builder = new Picasso.Builder(this);
-        builder.downloader(new OkHttpDownloader(this,Integer.MAX_VALUE));
-        Picasso built = builder.build();
-        built.setIndicatorsEnabled(true);
-        built.setLoggingEnabled(false);
-        Picasso.setSingletonInstance(built);
-    }/*/
+    /**
+     * One Picasso for the whole app, installed as the singleton
+     * so every Picasso.get() uses it.
+     * <p/>
+     * Memory cache: an explicit slice of the heap instead of Picasso's 15%.
+     * Disk cache: the api client's, via OkHttp2Downloader.
+     * Bitmaps: RGB_565.  Posters and YouTube thumbnails are all
+     * opaque jpegs, so the alpha channel is wasted memory.
+     */
+    private void setupPicasso() {
+        ActivityManager am = (ActivityManager) getSystemService(ACTIVITY_SERVICE);
+        int memoryCacheSize = am.getMemoryClass() * 1024 * 1024 / IMAGE_MEMORY_CACHE_DIVISOR;
+        mImageMemoryCache = new LruCache(memoryCacheSize);
+        mPicasso = new Picasso.Builder(this)
+                .downloader(new OkHttp2Downloader(mHttpClient))
+                .memoryCache(mImageMemoryCache)
+                .defaultBitmapConfig(Bitmap.Config.RGB_565)
+                .build();
+        mPicasso.setIndicatorsEnabled(isDebug);
+        Picasso.setSingletonInstance(mPicasso);
+    }
+
+    /**
+     * Image pipeline numbers, for logs and debugging eg.,
+     * "images: memory 85% hits (170/200), 1024/4096 KB, downloaded 2310 KB"
+     */
+    public String getImageStats() {
+        StatsSnapshot stats = mPicasso.getSnapshot();
+        long requests = stats.cacheHits + stats.cacheMisses;
+        long hitRate = (requests == 0) ? 0 : stats.cacheHits * 100 / requests;
+        return "images: memory " + hitRate + "% hits (" + stats.cacheHits + "/" + requests + "), "
+                + (stats.size / 1024) + "/" + (stats.maxSize / 1024) + " KB, "
+                + "downloaded " + (stats.totalDownloadSize / 1024) + " KB";
+    }
 
     /**
      * Gson does a terrible job handling dates!!!  It especially hates
      * if date is an empty string "".
+     * Reads the string straight off the stream, no JsonElement tree.
+     * Movie release dates don't come through here, but anything
+     * else with a Date does.
      */
-    private class JsonDateDeserializer implements JsonDeserializer<Date> {
+    private class JsonDateAdapter extends TypeAdapter<Date> {
         @Override
-        public Date deserialize(JsonElement json, Type typeOfT,
-                                JsonDeserializationContext context) throws JsonParseException {
-            try {
-                return JSON_STRING_DATE.parse(json.getAsString());
-            } catch (ParseException e) {
-                Log.d(TAG, "JSon date is NULL!!");
+        public Date read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
                 return null;
             }
+            long epochDay = ReleaseDates.parseEpochDay(in.nextString());
+            if (epochDay == ReleaseDates.NONE)
+                return null;
+            return new Date(ReleaseDates.toMillis(epochDay));
+        }
+
+        @Override
+        public void write(JsonWriter out, Date date) throws IOException {
+            if (date == null)
+                out.nullValue();
+            else
+                out.value(ReleaseDates.format(ReleaseDates.fromMillis(date.getTime())));
+        }
+    }
+
+    /**
+     * If there's no network, don't even try.  Ask the cache for
+     * whatever it has, however stale, so the grids and details
+     * still show up.  OkHttp returns a 504 if nothing is cached.
+     */
+    private class OfflineCacheInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            if (!Utils.isNetworkAvailable(getApplicationContext())) {
+                request = request.newBuilder()
+                        .cacheControl(new CacheControl.Builder()
+                                .onlyIfCached()
+                                .maxStale(HTTP_CACHE_MAX_STALE_DAYS, TimeUnit.DAYS)
+                                .build())
+                        .build();
+            }
+            return chain.proceed(request);
+        }
+    }
+
+    /**
+     * TMDB doesn't always send caching headers, and OkHttp won't
+     * cache a response without them.  Give those responses a short
+     * max-age so repeat requests are served locally, then revalidated.
+     */
+    private class CacheControlInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Response response = chain.proceed(chain.request());
+            if (response.header("Cache-Control") != null)
+                return response;
+            return response.newBuilder()
+                    .removeHeader("Pragma")
+                    .header("Cache-Control", "public, max-age=" + HTTP_CACHE_MAX_AGE_SECONDS)
+                    .build();
         }
     }
 
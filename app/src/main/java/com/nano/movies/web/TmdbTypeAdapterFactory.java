@@ -0,0 +1,473 @@
+/**
+ * Created by Jill Heske
+ * <p/>
+ * Copyright(c) 2015
+ */
+package com.nano.movies.web;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written streaming parsers for everything the api hands back,
+ * so Gson doesn't have to reflect over the models or build a
+ * JsonElement tree for each one.  Each adapter reads the JsonReader
+ * tokens straight into the model and skips any field we don't use,
+ * which is most of them.
+ * <p/>
+ * Only reading is hand-written.  Nothing is ever sent to the
+ * api as json, so writing is left to Gson's reflective adapters,
+ * which aren't even built unless something does get written.
+ * <p/>
+ * Release dates are parsed by ReleaseDates, straight to an epoch day.
+ */
+public class TmdbTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        //Gson asks about every type it meets, including String and List.
+        //Bail out before doing any work for the ones that aren't ours.
+        if (rawType != TmdbResults.class && rawType != Movie.class
+                && rawType != Genre.class && rawType != Trailers.class
+                && rawType != Reviews.class && rawType != Releases.class)
+            return null;
+        Writer<T> writer = new Writer<>(gson, this, type);
+        if (rawType == TmdbResults.class)
+            return (TypeAdapter<T>) new TmdbResultsAdapter(
+                    (Writer<TmdbResults>) writer, gson.getAdapter(Movie.class));
+        if (rawType == Movie.class)
+            return (TypeAdapter<T>) new MovieAdapter((Writer<Movie>) writer, gson);
+        if (rawType == Genre.class)
+            return (TypeAdapter<T>) new GenreAdapter((Writer<Genre>) writer);
+        if (rawType == Trailers.class)
+            return (TypeAdapter<T>) new TrailersAdapter((Writer<Trailers>) writer);
+        if (rawType == Reviews.class)
+            return (TypeAdapter<T>) new ReviewsAdapter((Writer<Reviews>) writer);
+        return (TypeAdapter<T>) new ReleasesAdapter((Writer<Releases>) writer);
+    }
+
+    /**
+     * Gson's reflective adapter for writing a model,
+     * only looked up the first time it's needed.
+     */
+    private static class Writer<T> {
+        private final Gson mGson;
+        private final TypeAdapterFactory mSkipPast;
+        private final TypeToken<T> mType;
+        private TypeAdapter<T> mDelegate;
+
+        Writer(Gson gson, TypeAdapterFactory skipPast, TypeToken<T> type) {
+            mGson = gson;
+            mSkipPast = skipPast;
+            mType = type;
+        }
+
+        void write(JsonWriter out, T value) throws IOException {
+            if (mDelegate == null)
+                mDelegate = mGson.getDelegateAdapter(mSkipPast, mType);
+            mDelegate.write(out, value);
+        }
+    }
+
+    /**
+     * Takes care of null and the write side, so each
+     * model's adapter only has to read an object.
+     */
+    private static abstract class ModelAdapter<T> extends TypeAdapter<T> {
+        private final Writer<T> mWriter;
+
+        ModelAdapter(Writer<T> writer) {
+            mWriter = writer;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            mWriter.write(out, value);
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return readObject(in);
+        }
+
+        abstract T readObject(JsonReader in) throws IOException;
+    }
+
+    private static class TmdbResultsAdapter extends ModelAdapter<TmdbResults> {
+        private final TypeAdapter<Movie> mMovieAdapter;
+
+        TmdbResultsAdapter(Writer<TmdbResults> writer, TypeAdapter<Movie> movieAdapter) {
+            super(writer);
+            mMovieAdapter = movieAdapter;
+        }
+
+        @Override
+        TmdbResults readObject(JsonReader in) throws IOException {
+            TmdbResults results = new TmdbResults();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "page":
+                        results.page = nextInteger(in);
+                        break;
+                    case "results":
+                        results.results = nextList(in, mMovieAdapter);
+                        break;
+                    case "total_pages":
+                        results.total_pages = nextInteger(in);
+                        break;
+                    case "total_results":
+                        results.total_results = nextInteger(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return results;
+        }
+    }
+
+    /**
+     * Discover pages and movie details both come through here,
+     * details just have more of the fields filled in.
+     */
+    private static class MovieAdapter extends ModelAdapter<Movie> {
+        private final TypeAdapter<Genre> mGenreAdapter;
+        private final TypeAdapter<Trailers> mTrailersAdapter;
+        private final TypeAdapter<Reviews> mReviewsAdapter;
+        private final TypeAdapter<Releases> mReleasesAdapter;
+
+        MovieAdapter(Writer<Movie> writer, Gson gson) {
+            super(writer);
+            mGenreAdapter = gson.getAdapter(Genre.class);
+            mTrailersAdapter = gson.getAdapter(Trailers.class);
+            mReviewsAdapter = gson.getAdapter(Reviews.class);
+            mReleasesAdapter = gson.getAdapter(Releases.class);
+        }
+
+        @Override
+        Movie readObject(JsonReader in) throws IOException {
+            Integer id = null;
+            String homePage = null;
+            String backdropPath = null;
+            String originalTitle = null;
+            String overview = null;
+            Double popularity = null;
+            String posterPath = null;
+            long releaseEpochDay = ReleaseDates.NONE;
+            Integer runtime = null;
+            String tagline = null;
+            String title = null;
+            Double voteAverage = null;
+            Integer voteCount = null;
+            List<Genre> genres = null;
+            Trailers trailers = null;
+            Reviews reviews = null;
+            Releases releases = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        id = nextInteger(in);
+                        break;
+                    case "homepage":
+                        homePage = nextString(in);
+                        break;
+                    case "backdrop_path":
+                        backdropPath = nextString(in);
+                        break;
+                    case "original_title":
+                        originalTitle = nextString(in);
+                        break;
+                    case "overview":
+                        overview = nextString(in);
+                        break;
+                    case "popularity":
+                        popularity = nextDouble(in);
+                        break;
+                    case "poster_path":
+                        posterPath = nextString(in);
+                        break;
+                    case "release_date":
+                        releaseEpochDay = ReleaseDates.parseEpochDay(nextString(in));
+                        break;
+                    case "runtime":
+                        runtime = nextInteger(in);
+                        break;
+                    case "tagline":
+                        tagline = nextString(in);
+                        break;
+                    case "title":
+                        title = nextString(in);
+                        break;
+                    case "vote_average":
+                        voteAverage = nextDouble(in);
+                        break;
+                    case "vote_count":
+                        voteCount = nextInteger(in);
+                        break;
+                    case "genres":
+                        genres = nextList(in, mGenreAdapter);
+                        break;
+                    case "trailers":
+                        trailers = mTrailersAdapter.read(in);
+                        break;
+                    case "reviews":
+                        reviews = mReviewsAdapter.read(in);
+                        break;
+                    case "releases":
+                        releases = mReleasesAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            Movie movie = new Movie(id, homePage, originalTitle, overview, popularity,
+                    posterPath, null, runtime, tagline, title, voteAverage, voteCount);
+            movie.setReleaseEpochDay(releaseEpochDay);
+            movie.setBackdropPath(backdropPath);
+            if (genres != null)
+                movie.setGenres(genres);
+            movie.setTrailers(trailers);
+            movie.setReviews(reviews);
+            movie.setReleases(releases);
+            return movie;
+        }
+    }
+
+    private static class GenreAdapter extends ModelAdapter<Genre> {
+        GenreAdapter(Writer<Genre> writer) {
+            super(writer);
+        }
+
+        @Override
+        Genre readObject(JsonReader in) throws IOException {
+            String name = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                if (in.nextName().equals("name"))
+                    name = nextString(in);
+                else
+                    in.skipValue();
+            }
+            in.endObject();
+            return new Genre(name);
+        }
+    }
+
+    /**
+     * Only youtube trailers are used, quicktime ones are skipped.
+     */
+    private static class TrailersAdapter extends ModelAdapter<Trailers> {
+        //Read only, the whole Trailers object is written by Gson
+        private final TypeAdapter<Trailers.Trailer> mTrailerAdapter =
+                new ModelAdapter<Trailers.Trailer>(null) {
+                    @Override
+                    Trailers.Trailer readObject(JsonReader in) throws IOException {
+                        String name = null;
+                        String size = null;
+                        String source = null;
+                        String type = null;
+                        in.beginObject();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "name":
+                                    name = nextString(in);
+                                    break;
+                                case "size":
+                                    size = nextString(in);
+                                    break;
+                                case "source":
+                                    source = nextString(in);
+                                    break;
+                                case "type":
+                                    type = nextString(in);
+                                    break;
+                                default:
+                                    in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                        return new Trailers.Trailer(name, size, source, type);
+                    }
+                };
+
+        TrailersAdapter(Writer<Trailers> writer) {
+            super(writer);
+        }
+
+        @Override
+        Trailers readObject(JsonReader in) throws IOException {
+            List<Trailers.Trailer> youtube = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                if (in.nextName().equals("youtube"))
+                    youtube = nextList(in, mTrailerAdapter);
+                else
+                    in.skipValue();
+            }
+            in.endObject();
+            return new Trailers(youtube);
+        }
+    }
+
+    private static class ReviewsAdapter extends ModelAdapter<Reviews> {
+        private final TypeAdapter<Reviews.Review> mReviewAdapter =
+                new ModelAdapter<Reviews.Review>(null) {
+                    @Override
+                    Reviews.Review readObject(JsonReader in) throws IOException {
+                        String id = null;
+                        String author = null;
+                        String content = null;
+                        String url = null;
+                        in.beginObject();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "id":
+                                    id = nextString(in);
+                                    break;
+                                case "author":
+                                    author = nextString(in);
+                                    break;
+                                case "content":
+                                    content = nextString(in);
+                                    break;
+                                case "url":
+                                    url = nextString(in);
+                                    break;
+                                default:
+                                    in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                        return new Reviews.Review(id, author, content, url);
+                    }
+                };
+
+        ReviewsAdapter(Writer<Reviews> writer) {
+            super(writer);
+        }
+
+        @Override
+        Reviews readObject(JsonReader in) throws IOException {
+            List<Reviews.Review> results = new ArrayList<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                if (in.nextName().equals("results"))
+                    results = nextList(in, mReviewAdapter);
+                else
+                    in.skipValue();
+            }
+            in.endObject();
+            return new Reviews(results);
+        }
+    }
+
+    private static class ReleasesAdapter extends ModelAdapter<Releases> {
+        private final TypeAdapter<Releases.Release> mReleaseAdapter =
+                new ModelAdapter<Releases.Release>(null) {
+                    @Override
+                    Releases.Release readObject(JsonReader in) throws IOException {
+                        String countryName = null;
+                        String certification = null;
+                        in.beginObject();
+                        while (in.hasNext()) {
+                            switch (in.nextName()) {
+                                case "iso_3166_1":
+                                    countryName = nextString(in);
+                                    break;
+                                case "certification":
+                                    certification = nextString(in);
+                                    break;
+                                default:
+                                    in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                        return new Releases.Release(countryName, certification);
+                    }
+                };
+
+        ReleasesAdapter(Writer<Releases> writer) {
+            super(writer);
+        }
+
+        @Override
+        Releases readObject(JsonReader in) throws IOException {
+            List<Releases.Release> countries = new ArrayList<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                if (in.nextName().equals("countries"))
+                    countries = nextList(in, mReleaseAdapter);
+                else
+                    in.skipValue();
+            }
+            in.endObject();
+            return new Releases(countries);
+        }
+    }
+
+    /**
+     * @return an empty list for json null, so models
+     * never have to null check their lists.
+     */
+    private static <E> List<E> nextList(JsonReader in, TypeAdapter<E> elementAdapter)
+            throws IOException {
+        List<E> list = new ArrayList<>();
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return list;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            E element = elementAdapter.read(in);
+            if (element != null)
+                list.add(element);
+        }
+        in.endArray();
+        return list;
+    }
+
+    private static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static Integer nextInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextInt();
+    }
+
+    private static Double nextDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextDouble();
+    }
+}
@@ -8,12 +8,17 @@ package com.nano.movies.web;
 import android.os.Parcel;
 import android.os.Parcelable;
 import com.google.gson.annotations.SerializedName;
+import java.util.ArrayList;
 import java.util.List;
 
 public class Trailers implements Parcelable {
     @SerializedName("youtube")
     private List<Trailer> mYoutube;
 
+    public Trailers(List<Trailer> youtube) {
+        mYoutube = youtube;
+    }
+
     public List<Trailer> getYoutube() {
         return mYoutube;
     }
@@ -125,6 +130,8 @@ public class Trailers implements Parcelable {
     }
 
     private Trailers(Parcel in) {
+        //readTypedList fills an existing list, it won't make one
+        mYoutube = new ArrayList<>();
         in.readTypedList(mYoutube,Trailer.CREATOR);
     }
 